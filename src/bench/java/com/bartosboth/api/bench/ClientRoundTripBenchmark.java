@@ -0,0 +1,48 @@
+package com.bartosboth.api.bench;
+
+import com.bartosboth.api.clients.ProductApiClient;
+import com.bartosboth.api.config.ApiSpecs;
+import com.bartosboth.api.server.FakeStoreServer;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientRoundTripBenchmark {
+
+    private FakeStoreServer server;
+    private ProductApiClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new FakeStoreServer(0);
+        client = new ProductApiClient(ApiSpecs.build(server.baseUrl()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public Response getProduct() {
+        return client.getProduct(1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.bartosboth.api.bench;
+
+import com.bartosboth.api.data.ProductDataStore;
+import com.bartosboth.api.data.ProductTestDataFactory;
+import com.bartosboth.api.data.SyntheticProductGenerator;
+import com.bartosboth.api.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CsvFile {
+
+        @Param({"1000", "100000"})
+        private int rows;
+
+        private Path path;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            path = Files.createTempFile("products-bench", ".csv");
+            try (BufferedWriter writer = Files.newBufferedWriter(path);
+                 Stream<Product> products = new SyntheticProductGenerator(42).stream(rows)) {
+                writer.write("title,price,category,description,image\n");
+                for (Product product : (Iterable<Product>) products::iterator) {
+                    writer.write('"' + product.title() + "\"," + product.price() + ",\"" + product.category()
+                            + "\",\"" + product.description() + "\"," + product.image() + "\n");
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Benchmark
+    public List<Product> loadProductsFromCsv() {
+        return ProductDataStore.load(ProductTestDataFactory.DEFAULT_CSV).products();
+    }
+
+    @Benchmark
+    public double streamMappedCsv(CsvFile csvFile) {
+        try (Stream<Product> products = ProductDataStore.stream(csvFile.path)) {
+            return products.mapToDouble(Product::price).sum();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bartosboth.api.bench;
+
+import com.bartosboth.api.data.SyntheticProductGenerator;
+import com.bartosboth.api.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @State(Scope.Benchmark)
+    public static class SingleProduct {
+
+        private Product product;
+        private byte[] json;
+
+        @Setup
+        public void setUp() throws Exception {
+            product = products(1)[0];
+            json = MAPPER.writeValueAsBytes(product);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ProductArray {
+
+        @Param({"20", "1000", "100000"})
+        private int size;
+
+        private Product[] products;
+        private byte[] json;
+
+        @Setup
+        public void setUp() throws Exception {
+            products = products(size);
+            json = MAPPER.writeValueAsBytes(products);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeProduct(SingleProduct state) throws Exception {
+        return MAPPER.writeValueAsBytes(state.product);
+    }
+
+    @Benchmark
+    public Product deserializeProduct(SingleProduct state) throws Exception {
+        return MAPPER.readValue(state.json, Product.class);
+    }
+
+    @Benchmark
+    public byte[] serializeProductArray(ProductArray state) throws Exception {
+        return MAPPER.writeValueAsBytes(state.products);
+    }
+
+    @Benchmark
+    public Product[] deserializeProductArray(ProductArray state) throws Exception {
+        return MAPPER.readValue(state.json, Product[].class);
+    }
+
+    private static Product[] products(int size) {
+        SyntheticProductGenerator generator = new SyntheticProductGenerator(42);
+        Product[] products = new Product[size];
+        for (int i = 0; i < size; i++) {
+            Product generated = generator.product(i);
+            products[i] = new Product(i + 1, generated.title(), generated.price(), generated.description(),
+                    generated.category(), generated.image(), new Product.Rating(3.9, 120 + i));
+        }
+        return products;
+    }
+}
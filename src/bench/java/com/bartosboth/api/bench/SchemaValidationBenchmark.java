@@ -0,0 +1,68 @@
+package com.bartosboth.api.bench;
+
+import com.bartosboth.api.json.SchemaRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidationBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JsonNode catalog;
+    private JsonNode product;
+    private String catalogJson;
+    private String productJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("test-data/catalog.json")) {
+            catalog = MAPPER.readTree(inputStream);
+        }
+        product = catalog.get(0);
+        catalogJson = MAPPER.writeValueAsString(catalog);
+        productJson = MAPPER.writeValueAsString(product);
+    }
+
+    @Benchmark
+    public JsonNode registryProductSchema() {
+        SchemaRegistry.validate(SchemaRegistry.PRODUCT_SCHEMA, product);
+        return product;
+    }
+
+    @Benchmark
+    public JsonNode registryProductsArraySchema() {
+        SchemaRegistry.validate(SchemaRegistry.PRODUCTS_ARRAY_SCHEMA, catalog);
+        return catalog;
+    }
+
+    @Benchmark
+    public boolean restAssuredProductSchema() {
+        return matchesJsonSchemaInClasspath(SchemaRegistry.PRODUCT_SCHEMA).matches(productJson);
+    }
+
+    @Benchmark
+    public boolean restAssuredProductsArraySchema() {
+        return matchesJsonSchemaInClasspath(SchemaRegistry.PRODUCTS_ARRAY_SCHEMA).matches(catalogJson);
+    }
+}
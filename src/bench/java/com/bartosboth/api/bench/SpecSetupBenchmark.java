@@ -0,0 +1,26 @@
+package com.bartosboth.api.bench;
+
+import com.bartosboth.api.config.ApiSpecs;
+import com.bartosboth.api.config.BaseApiConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecSetupBenchmark {
+
+    @Benchmark
+    public ApiSpecs buildSpecs() {
+        return ApiSpecs.build(BaseApiConfig.BASE_URL);
+    }
+}
@@ -0,0 +1,131 @@
+package com.bartosboth.api.cassette;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Cassette {
+
+    public static final String DEFAULT_PATH = "src/test/resources/cassettes/fakestore.cassette";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static volatile Cassette shared;
+
+    private final Path path;
+    private final CassetteMode mode;
+    private final CassetteFile recorded;
+    private final Map<String, CassetteEntry> recordings = new ConcurrentHashMap<>();
+    private final Map<String, Drift> drifts = new ConcurrentHashMap<>();
+
+    public record Drift(String key, Integer recordedStatus, int liveStatus, String recordedBodyHash, String liveBodyHash) {
+    }
+
+    public Cassette(Path path, CassetteMode mode) {
+        this.path = path;
+        this.mode = mode;
+        this.recorded = CassetteFile.open(path).orElse(null);
+        if (mode == CassetteMode.REPLAY && recorded == null) {
+            throw new IllegalStateException("Cassette not found for replay: " + path.toAbsolutePath()
+                    + " (record one with -Dcassette.mode=record)");
+        }
+    }
+
+    public static Cassette shared() {
+        if (shared == null) {
+            synchronized (Cassette.class) {
+                if (shared == null) {
+                    shared = new Cassette(Path.of(System.getProperty("cassette.path", DEFAULT_PATH)),
+                            CassetteMode.fromSystemProperty());
+                }
+            }
+        }
+        return shared;
+    }
+
+    public CassetteMode mode() {
+        return mode;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /** Whether the filter has anything to do: passthrough without a cassette on disk is a no-op. */
+    public boolean active() {
+        return mode != CassetteMode.PASSTHROUGH || recorded != null;
+    }
+
+    public Optional<CassetteEntry> find(String key) {
+        CassetteEntry recording = recordings.get(key);
+        if (recording != null) {
+            return Optional.of(recording);
+        }
+        return recorded == null ? Optional.empty() : recorded.find(key);
+    }
+
+    public CassetteEntry replay(String key) {
+        return find(key).orElseThrow(() -> new IllegalStateException(
+                "No recorded response for " + key + " in " + path + " (re-record with -Dcassette.mode=record)"));
+    }
+
+    public void observe(CassetteEntry live) {
+        if (recorded != null) {
+            Optional<CassetteEntry> previous = recorded.find(live.key());
+            if (previous.isEmpty()) {
+                drifts.put(live.key(), new Drift(live.key(), null, live.status(), null, bodyHash(live)));
+            } else if (!previous.get().sameResponseAs(live)) {
+                drifts.put(live.key(), new Drift(live.key(), previous.get().status(), live.status(),
+                        bodyHash(previous.get()), bodyHash(live)));
+            }
+        }
+        if (mode == CassetteMode.RECORD) {
+            recordings.put(live.key(), live);
+        }
+    }
+
+    public List<Drift> drifts() {
+        return List.copyOf(drifts.values());
+    }
+
+    /** Writes recorded responses, keeping entries from the previous cassette that were not re-recorded. */
+    public void save() {
+        if (mode != CassetteMode.RECORD || recordings.isEmpty()) {
+            return;
+        }
+        Map<String, CassetteEntry> merged = new LinkedHashMap<>();
+        if (recorded != null) {
+            recorded.entries().forEach(entry -> merged.put(entry.key(), entry));
+        }
+        merged.putAll(recordings);
+        CassetteFile.write(path, new ArrayList<>(merged.values()));
+    }
+
+    public void writeStalenessReport(Path reportPath) {
+        try {
+            Files.createDirectories(reportPath.toAbsolutePath().getParent());
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("cassette", path.toString());
+            report.put("drifted", drifts.size());
+            report.put("entries", drifts.values().stream().sorted((a, b) -> a.key().compareTo(b.key())).toList());
+            MAPPER.writeValue(reportPath.toFile(), report);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cassette staleness report: " + reportPath, e);
+        }
+    }
+
+    private static String bodyHash(CassetteEntry entry) {
+        return HexFormat.of().formatHex(CassetteEntry.sha256(entry.body()), 0, 8);
+    }
+}
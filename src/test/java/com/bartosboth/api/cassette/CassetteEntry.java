@@ -0,0 +1,53 @@
+package com.bartosboth.api.cassette;
+
+import io.restassured.http.Header;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/** A recorded response; {@code headers} keeps every response header in the order the server sent them. */
+public record CassetteEntry(String key, int status, List<Header> headers, byte[] body) {
+
+    public CassetteEntry {
+        headers = List.copyOf(headers);
+    }
+
+    public static String key(String method, String pathAndQuery, byte[] requestBody) {
+        String bodyHash = requestBody.length == 0 ? "-" : HexFormat.of().formatHex(sha256(requestBody), 0, 8);
+        return method + " " + pathAndQuery + " " + bodyHash;
+    }
+
+    static long hash(String key) {
+        byte[] digest = sha256(key.getBytes(StandardCharsets.UTF_8));
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = hash << 8 | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    public String contentType() {
+        return headers.stream()
+                .filter(header -> header.getName().equalsIgnoreCase("Content-Type"))
+                .map(Header::getValue)
+                .findFirst()
+                .orElse("");
+    }
+
+    // Headers are left out: Date and friends change on every call without the resource changing
+    public boolean sameResponseAs(CassetteEntry other) {
+        return status == other.status && Arrays.equals(body, other.body);
+    }
+
+    static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
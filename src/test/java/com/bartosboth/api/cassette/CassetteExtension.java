@@ -0,0 +1,37 @@
+package com.bartosboth.api.cassette;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+
+public class CassetteExtension implements BeforeAllCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot()
+                .getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(CassetteExtension.class, key -> new SaveOnClose());
+    }
+
+    private static final class SaveOnClose implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            Cassette cassette = Cassette.shared();
+            if (!cassette.active()) {
+                return;
+            }
+            cassette.save();
+            if (cassette.mode() == CassetteMode.RECORD) {
+                System.out.println("Cassette recorded to " + cassette.path());
+            }
+            if (cassette.mode() != CassetteMode.REPLAY) {
+                Path reportPath = Path.of(System.getProperty("cassette.report", "target/cassette-staleness.json"));
+                cassette.writeStalenessReport(reportPath);
+                System.out.println("Cassette staleness: " + cassette.drifts().size()
+                        + " drifted response(s), report written to " + reportPath);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.bartosboth.api.cassette;
+
+import io.restassured.http.Header;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only view of a cassette on disk. The file is a header, an index of {@code (keyHash, offset)} pairs sorted
+ * by hash, and the entries themselves; lookups binary-search the memory-mapped index and decode a single entry,
+ * so opening a cassette costs the same regardless of how many responses it holds.
+ *
+ * <pre>
+ * int magic, int count
+ * count x (long keyHash, int offset)
+ * count x (short keyLength, key, short status, short headerCount,
+ *            headerCount x (short nameLength, name, short valueLength, value), int bodyLength, body)
+ * </pre>
+ */
+final class CassetteFile implements AutoCloseable {
+
+    private static final int MAGIC = 0x43535432; // "CST2"
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int INDEX_SLOT_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int count;
+
+    private CassetteFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (channel.size() > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IllegalStateException("Cassette larger than 2GB: " + path);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IllegalStateException("Not a cassette file: " + path);
+        }
+        this.count = buffer.getInt(Integer.BYTES);
+    }
+
+    static Optional<CassetteFile> open(Path path) {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new CassetteFile(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open cassette: " + path, e);
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    Optional<CassetteEntry> find(String key) {
+        long hash = CassetteEntry.hash(key);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midHash = hashAt(mid);
+            if (midHash < hash) {
+                low = mid + 1;
+            } else if (midHash > hash) {
+                high = mid - 1;
+            } else {
+                // Walk back to the first slot with this hash, then check every colliding entry
+                while (mid > 0 && hashAt(mid - 1) == hash) {
+                    mid--;
+                }
+                for (int slot = mid; slot < count && hashAt(slot) == hash; slot++) {
+                    CassetteEntry entry = entryAt(slot);
+                    if (entry.key().equals(key)) {
+                        return Optional.of(entry);
+                    }
+                }
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    List<CassetteEntry> entries() {
+        List<CassetteEntry> entries = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            entries.add(entryAt(slot));
+        }
+        return entries;
+    }
+
+    private long hashAt(int slot) {
+        return buffer.getLong(HEADER_SIZE + slot * INDEX_SLOT_SIZE);
+    }
+
+    private CassetteEntry entryAt(int slot) {
+        ByteBuffer entry = buffer.duplicate().position(buffer.getInt(HEADER_SIZE + slot * INDEX_SLOT_SIZE + Long.BYTES));
+        String key = readShortString(entry);
+        int status = entry.getShort();
+        int headerCount = Short.toUnsignedInt(entry.getShort());
+        List<Header> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new Header(readShortString(entry), readShortString(entry)));
+        }
+        byte[] body = new byte[entry.getInt()];
+        entry.get(body);
+        return new CassetteEntry(key, status, headers, body);
+    }
+
+    private static String readShortString(ByteBuffer entry) {
+        byte[] bytes = new byte[Short.toUnsignedInt(entry.getShort())];
+        entry.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void write(Path path, Collection<CassetteEntry> entries) {
+        List<CassetteEntry> sorted = entries.stream()
+                .sorted(Comparator.comparingLong((CassetteEntry entry) -> CassetteEntry.hash(entry.key()))
+                        .thenComparing(CassetteEntry::key))
+                .toList();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(sorted.size());
+                int offset = HEADER_SIZE + sorted.size() * INDEX_SLOT_SIZE;
+                for (CassetteEntry entry : sorted) {
+                    out.writeLong(CassetteEntry.hash(entry.key()));
+                    out.writeInt(offset);
+                    offset += encodedSize(entry);
+                }
+                for (CassetteEntry entry : sorted) {
+                    writeShortString(out, entry.key());
+                    out.writeShort(entry.status());
+                    out.writeShort(entry.headers().size());
+                    for (Header header : entry.headers()) {
+                        writeShortString(out, header.getName());
+                        writeShortString(out, header.getValue());
+                    }
+                    out.writeInt(entry.body().length);
+                    out.write(entry.body());
+                }
+            }
+            // Replace atomically so a concurrent replay never maps a half-written file
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cassette: " + path, e);
+        }
+    }
+
+    private static int encodedSize(CassetteEntry entry) {
+        int size = Short.BYTES + entry.key().getBytes(StandardCharsets.UTF_8).length
+                + Short.BYTES
+                + Short.BYTES
+                + Integer.BYTES + entry.body().length;
+        for (Header header : entry.headers()) {
+            size += 2 * Short.BYTES + header.getName().getBytes(StandardCharsets.UTF_8).length
+                    + header.getValue().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size;
+    }
+
+    private static void writeShortString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Cassette string longer than 65535 bytes: " + value.substring(0, 64) + "...");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close cassette", e);
+        }
+    }
+}
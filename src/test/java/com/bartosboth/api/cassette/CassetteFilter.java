@@ -0,0 +1,143 @@
+package com.bartosboth.api.cassette;
+
+import com.bartosboth.api.config.StreamedBody;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class CassetteFilter implements Filter {
+
+    private final Cassette cassette;
+
+    public CassetteFilter(Cassette cassette) {
+        this.cassette = cassette;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        URI uri = URI.create(requestSpec.getURI());
+        String pathAndQuery = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        String key = CassetteEntry.key(requestSpec.getMethod(), pathAndQuery, requestBody(requestSpec.getBody()));
+
+        if (cassette.mode() == CassetteMode.REPLAY) {
+            long start = System.nanoTime();
+            CassetteEntry entry = cassette.replay(key);
+            return toResponse(entry, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (response.statusCode() == 304) {
+            // A revalidation says nothing about the resource itself; keep the full response on the cassette
+            return response;
+        }
+        int status = response.statusCode();
+        List<Header> headers = response.headers().asList();
+        if (StreamedBody.active()) {
+            // The caller still parses the body as it arrives; the cassette gets the copy once it was read to the end
+            InputStream body = new CopyingInputStream(response.asInputStream(),
+                    copy -> cassette.observe(new CassetteEntry(key, status, headers, copy)));
+            return new ResponseBuilder().clone(response).setBody(body).build();
+        }
+        cassette.observe(new CassetteEntry(key, status, headers, response.asByteArray()));
+        return response;
+    }
+
+    private static byte[] requestBody(Object body) {
+        if (body == null) {
+            return new byte[0];
+        }
+        return body instanceof byte[] bytes ? bytes : body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Response toResponse(CassetteEntry entry, long timeMillis) {
+        Response response = new ResponseBuilder()
+                .setStatusCode(entry.status())
+                .setStatusLine("HTTP/1.1 " + entry.status())
+                // setContentType also adds a header, so it goes first and setHeaders replaces them all
+                .setContentType(entry.contentType())
+                .setHeaders(new Headers(entry.headers()))
+                .setBody(entry.body())
+                .build();
+        // The timing filter never runs for replayed calls, so supply the time the response specs assert on
+        if (response instanceof RestAssuredResponseOptionsImpl<?> options) {
+            options.setFilterContextProperties(Map.of(TimingFilter.RESPONSE_TIME_MILLISECONDS, timeMillis));
+        }
+        return response;
+    }
+
+    /** Copies what the caller reads and hands the copy over on close, unless the body was abandoned part way. */
+    private static final class CopyingInputStream extends FilterInputStream {
+
+        private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private final Consumer<byte[]> onComplete;
+        private boolean complete;
+        private boolean closed;
+
+        CopyingInputStream(InputStream body, Consumer<byte[]> onComplete) {
+            super(body);
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                complete = true;
+            } else {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read < 0) {
+                complete = true;
+            } else {
+                copy.write(buffer, offset, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes would be missing from the copy, so they are read instead
+            return n <= 0 ? 0 : Math.max(0, read(new byte[(int) Math.min(n, 8192)]));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (complete && !closed) {
+                onComplete.accept(copy.toByteArray());
+            }
+            closed = true;
+        }
+    }
+}
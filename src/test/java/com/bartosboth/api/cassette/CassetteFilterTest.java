@@ -0,0 +1,125 @@
+package com.bartosboth.api.cassette;
+
+import com.bartosboth.api.config.StreamedBody;
+import com.bartosboth.api.server.FakeStoreServer;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CassetteFilterTest {
+
+    // Nothing listens here, so a replayed call that reached the network would fail
+    private static final String UNREACHABLE = "http://127.0.0.1:9";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Entries survive a write and lookup with every header, including repeated ones")
+    public void testFileRoundTrip() {
+        Path path = directory.resolve("round-trip.cassette");
+        List<CassetteEntry> entries = List.of(
+                new CassetteEntry(CassetteEntry.key("GET", "/products/1", new byte[0]), 200, List.of(
+                        new Header("Content-Type", "application/json; charset=utf-8"),
+                        new Header("ETag", "\"abc\""),
+                        new Header("Set-Cookie", "a=1"),
+                        new Header("Set-Cookie", "b=2")),
+                        "{\"id\":1}".getBytes(StandardCharsets.UTF_8)),
+                new CassetteEntry(CassetteEntry.key("DELETE", "/products/2", new byte[0]), 404, List.of(), new byte[0]),
+                new CassetteEntry(CassetteEntry.key("POST", "/products", "{\"title\":\"Café\"}".getBytes(StandardCharsets.UTF_8)),
+                        201, List.of(new Header("X-Note", "naïve")), "{\"id\":21}".getBytes(StandardCharsets.UTF_8)));
+
+        CassetteFile.write(path, entries);
+
+        try (CassetteFile file = CassetteFile.open(path).orElseThrow()) {
+            assertThat(file.size()).isEqualTo(entries.size());
+            for (CassetteEntry entry : entries) {
+                CassetteEntry found = file.find(entry.key()).orElseThrow();
+                assertThat(found.status()).isEqualTo(entry.status());
+                assertThat(found.headers()).containsExactlyElementsOf(entry.headers());
+                assertThat(found.body()).isEqualTo(entry.body());
+            }
+            assertThat(file.find("GET /missing -")).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("A recorded response replays with the same status, body and headers")
+    public void testRecordThenReplay() {
+        Path path = directory.resolve("fakestore.cassette");
+        Cassette recorder = new Cassette(path, CassetteMode.RECORD);
+        Response live = given()
+                .baseUri(FakeStoreServer.shared().baseUrl())
+                .filter(new CassetteFilter(recorder))
+                .get("/products/1");
+        recorder.save();
+
+        Response replayed = given()
+                .baseUri(UNREACHABLE)
+                .filter(new CassetteFilter(new Cassette(path, CassetteMode.REPLAY)))
+                .get("/products/1");
+
+        assertThat(replayed.statusCode()).isEqualTo(live.statusCode());
+        assertThat(replayed.asByteArray()).isEqualTo(live.asByteArray());
+        assertThat(replayed.contentType()).isEqualTo(live.contentType());
+        for (String name : List.of("Content-Type", "ETag", "Content-Length", "Access-Control-Allow-Origin")) {
+            assertThat(replayed.header(name)).as(name).isNotNull().isEqualTo(live.header(name));
+        }
+        assertThat(replayed.headers().asList()).containsExactlyElementsOf(live.headers().asList());
+    }
+
+    @Test
+    @DisplayName("A streamed body is recorded once the caller has read it to the end, and replays the same")
+    public void testStreamedBodyIsRecordedWhenRead() throws IOException {
+        Path path = directory.resolve("streamed.cassette");
+        Cassette recorder = new Cassette(path, CassetteMode.RECORD);
+        Response live = StreamedBody.call(() -> given()
+                .baseUri(FakeStoreServer.shared().baseUrl())
+                .filter(new CassetteFilter(recorder))
+                .get("/products"));
+        String key = CassetteEntry.key("GET", "/products", new byte[0]);
+        assertThat(recorder.find(key)).as("nothing is recorded before the caller reads the body").isEmpty();
+
+        byte[] body;
+        try (InputStream stream = live.asInputStream()) {
+            body = stream.readAllBytes();
+        }
+        assertThat(recorder.find(key)).get().extracting(CassetteEntry::body).isEqualTo(body);
+        recorder.save();
+
+        Response replayed = StreamedBody.call(() -> given()
+                .baseUri(UNREACHABLE)
+                .filter(new CassetteFilter(new Cassette(path, CassetteMode.REPLAY)))
+                .get("/products"));
+        try (InputStream stream = replayed.asInputStream()) {
+            assertThat(stream.readAllBytes()).isEqualTo(body);
+        }
+    }
+
+    @Test
+    @DisplayName("A streamed body abandoned part way is not recorded")
+    public void testAbandonedStreamIsNotRecorded() throws IOException {
+        Cassette recorder = new Cassette(directory.resolve("abandoned.cassette"), CassetteMode.RECORD);
+        Response live = StreamedBody.call(() -> given()
+                .baseUri(FakeStoreServer.shared().baseUrl())
+                .filter(new CassetteFilter(recorder))
+                .get("/products"));
+
+        try (InputStream stream = live.asInputStream()) {
+            assertThat(stream.read(new byte[16])).isPositive();
+        }
+
+        assertThat(recorder.find(CassetteEntry.key("GET", "/products", new byte[0]))).isEmpty();
+    }
+}
@@ -0,0 +1,13 @@
+package com.bartosboth.api.cassette;
+
+import java.util.Locale;
+
+public enum CassetteMode {
+    RECORD,
+    REPLAY,
+    PASSTHROUGH;
+
+    public static CassetteMode fromSystemProperty() {
+        return valueOf(System.getProperty("cassette.mode", "passthrough").trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,234 @@
+package com.bartosboth.api.clients;
+
+import com.bartosboth.api.cassette.Cassette;
+import com.bartosboth.api.cassette.CassetteEntry;
+import com.bartosboth.api.cassette.CassetteMode;
+import com.bartosboth.api.config.ApiSpecs;
+import com.bartosboth.api.json.SchemaRegistry;
+import com.bartosboth.api.json.SchemaValidationFilter;
+import com.bartosboth.api.limiter.AdaptiveLimiter;
+import com.bartosboth.api.limiter.RetryAfter;
+import com.bartosboth.api.metrics.ApiCallEvent;
+import com.bartosboth.api.metrics.ApiCallEventFilter;
+import com.bartosboth.api.metrics.LatencyHistogram;
+import com.bartosboth.api.metrics.LatencyRegistry;
+import com.bartosboth.api.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.ResponseSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking variant of {@link ProductApiClient} on the JDK HTTP/2 client. RestAssured filters cannot wrap a
+ * request that completes on another thread, so each call applies the same instrumentation as the shared specs
+ * itself: the adaptive limiter, latency histograms, JFR {@link ApiCallEvent}s, schema validation and the cassette.
+ */
+public class AsyncProductApiClient {
+
+    private static final String PRODUCTS_ENDPOINT = "/products";
+    private static final String PRODUCT_ENDPOINT = PRODUCTS_ENDPOINT + "/{id}";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] NO_BODY = new byte[0];
+
+    private static final HttpClient SHARED_HTTP_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final HttpClient httpClient;
+    private final ApiSpecs specs;
+    private final AdaptiveLimiter limiter;
+    private final Cassette cassette;
+
+    public AsyncProductApiClient() {
+        this(ApiSpecs.shared());
+    }
+
+    public AsyncProductApiClient(ApiSpecs specs) {
+        this(SHARED_HTTP_CLIENT, specs);
+    }
+
+    public AsyncProductApiClient(HttpClient httpClient, ApiSpecs specs) {
+        // The same switches ApiSpecs.build uses to install the limiter and cassette filters
+        this(httpClient, specs, ApiSpecs.ADAPTIVE_CONCURRENCY ? AdaptiveLimiter.shared() : null,
+                Cassette.shared().active() ? Cassette.shared() : null);
+    }
+
+    /** {@code limiter} and {@code cassette} may be {@code null} to leave them out. */
+    AsyncProductApiClient(HttpClient httpClient, ApiSpecs specs, AdaptiveLimiter limiter, Cassette cassette) {
+        this.httpClient = httpClient;
+        this.specs = specs;
+        this.limiter = limiter;
+        this.cassette = cassette;
+    }
+
+    public CompletableFuture<Product> createProduct(Product product) {
+        return send("POST", PRODUCTS_ENDPOINT, PRODUCTS_ENDPOINT, json(product), specs.createdResponseSpec(),
+                Product.class);
+    }
+
+    public CompletableFuture<Product[]> getProducts() {
+        return send("GET", PRODUCTS_ENDPOINT, PRODUCTS_ENDPOINT, NO_BODY, specs.successResponseSpec(),
+                Product[].class);
+    }
+
+    public CompletableFuture<Product> getProduct(int id) {
+        return send("GET", PRODUCT_ENDPOINT, PRODUCTS_ENDPOINT + "/" + id, NO_BODY, specs.successResponseSpec(),
+                Product.class);
+    }
+
+    public CompletableFuture<Product> updateProduct(int id, Product product) {
+        return send("PUT", PRODUCT_ENDPOINT, PRODUCTS_ENDPOINT + "/" + id, json(product),
+                specs.updateResponseSpec(), Product.class);
+    }
+
+    public CompletableFuture<Product> deleteProduct(int id) {
+        return send("DELETE", PRODUCT_ENDPOINT, PRODUCTS_ENDPOINT + "/" + id, NO_BODY,
+                specs.successResponseSpec(), Product.class);
+    }
+
+    public CompletableFuture<List<Product>> getProducts(Collection<Integer> ids) {
+        List<CompletableFuture<Product>> futures = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            futures.add(getProduct(id));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    private <T> CompletableFuture<T> send(String method, String pathTemplate, String path, byte[] body,
+                                          ResponseSpecification spec, Class<T> type) {
+        String endpointPath = LatencyRegistry.endpoint(pathTemplate, Set.of());
+        String endpoint = method + " " + endpointPath;
+        String key = CassetteEntry.key(method, path, body);
+        // Looked up on the calling thread, so load runs record into their own scope
+        LatencyHistogram histogram = LatencyRegistry.histogram(method, endpointPath);
+        ApiCallEvent event = new ApiCallEvent();
+        long gcBefore = event.isEnabled() ? ApiCallEventFilter.gcMillis() : 0;
+        if (limiter != null) {
+            // Blocks the caller while the limit is reached, the same backpressure the filter applies
+            limiter.acquire();
+        }
+        event.begin();
+        long start = System.nanoTime();
+
+        CompletableFuture<CassetteEntry> exchange;
+        if (cassette != null && cassette.mode() == CassetteMode.REPLAY) {
+            exchange = CompletableFuture.supplyAsync(() -> cassette.replay(key), Runnable::run);
+        } else {
+            exchange = httpClient.sendAsync(request(method, path, body), HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> observed(key, response));
+        }
+        return exchange.whenComplete((entry, failure) -> {
+            long nanos = System.nanoTime() - start;
+            int status = entry == null ? -1 : entry.status();
+            histogram.recordNanos(nanos);
+            if (limiter != null) {
+                limiter.release(endpoint, nanos, status,
+                        entry == null ? null : RetryAfter.parse(header(entry, "Retry-After")));
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                event.status = status;
+                event.responseBytes = entry == null ? 0 : entry.body().length;
+                // The request spans threads, so no single thread's allocation counter covers it
+                event.allocatedBytes = -1;
+                event.gcMillis = ApiCallEventFilter.gcMillis() - gcBefore;
+                event.commit();
+            }
+        }).thenApply(entry -> {
+            verify(entry, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), spec);
+            return readBody(method, pathTemplate, entry.body(), type);
+        });
+    }
+
+    private HttpRequest request(String method, String path, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(specs.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("User-Agent", "RestAssured-AutomationTest/1.0")
+                .method(method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    // Live responses go to the cassette like CassetteFilter's, for recording and drift checks
+    private CassetteEntry observed(String key, HttpResponse<byte[]> response) {
+        List<Header> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) ->
+                values.forEach(value -> headers.add(new Header(name, value))));
+        CassetteEntry entry = new CassetteEntry(key, response.statusCode(), headers, response.body());
+        if (cassette != null && entry.status() != 304) {
+            cassette.observe(entry);
+        }
+        return entry;
+    }
+
+    private static String header(CassetteEntry entry, String name) {
+        return entry.headers().stream()
+                .filter(header -> header.getName().equalsIgnoreCase(name))
+                .map(Header::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static void verify(CassetteEntry entry, long timeMillis, ResponseSpecification spec) {
+        Response restAssuredResponse = new ResponseBuilder()
+                .setStatusCode(entry.status())
+                // setContentType also adds a header, so it goes first and setHeaders replaces them all
+                .setContentType(entry.contentType())
+                .setHeaders(new Headers(entry.headers()))
+                .setBody(entry.body())
+                .build();
+        // Specs assert on response time, which RestAssured reads from the timing filter's context
+        if (restAssuredResponse instanceof RestAssuredResponseOptionsImpl<?> options) {
+            options.setFilterContextProperties(Map.of(TimingFilter.RESPONSE_TIME_MILLISECONDS, timeMillis));
+        }
+        restAssuredResponse.then().spec(spec);
+    }
+
+    private static byte[] json(Product product) {
+        try {
+            return MAPPER.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize product: " + product.title(), e);
+        }
+    }
+
+    private static <T> T readBody(String method, String pathTemplate, byte[] body, Class<T> type) {
+        if (ApiSpecs.VALIDATE_ALL_RESPONSES) {
+            return SchemaRegistry.bind(SchemaRegistry.validate(SchemaValidationFilter.schemaFor(method, pathTemplate),
+                    body), type);
+        }
+        try {
+            return MAPPER.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize response as " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.bartosboth.api.clients;
+
+import com.bartosboth.api.cassette.Cassette;
+import com.bartosboth.api.cassette.CassetteMode;
+import com.bartosboth.api.config.ApiSpecs;
+import com.bartosboth.api.metrics.LatencyRegistry;
+import com.bartosboth.api.model.Product;
+import com.bartosboth.api.server.FakeStoreServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncProductApiClientTest {
+
+    // Nothing listens here, so a replayed call that reached the network would fail
+    private static final String UNREACHABLE = "http://127.0.0.1:9";
+    // Its own scope, so concurrent calls add no samples to it and the functional report never sees it
+    private static final String SCOPE = AsyncProductApiClientTest.class.getSimpleName();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Async calls land in the latency histogram of the caller's scope")
+    public void testLatencyRecorded() {
+        AsyncProductApiClient client = new AsyncProductApiClient(HttpClient.newHttpClient(),
+                ApiSpecs.forBaseUrl(FakeStoreServer.shared().baseUrl()), null, null);
+        AtomicReference<List<Product>> products = new AtomicReference<>();
+
+        LatencyRegistry.inScope(SCOPE, () -> products.set(client.getProducts(List.of(1, 2, 3)).join()));
+
+        assertThat(products.get()).extracting(Product::id).containsExactly(1, 2, 3);
+        assertThat(LatencyRegistry.snapshot(SCOPE).get("GET /products/{id}").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Async calls are recorded on the cassette and replay without the network")
+    public void testRecordThenReplay() {
+        Path path = directory.resolve("async.cassette");
+        Cassette recorder = new Cassette(path, CassetteMode.RECORD);
+        AsyncProductApiClient recording = new AsyncProductApiClient(HttpClient.newHttpClient(),
+                ApiSpecs.forBaseUrl(FakeStoreServer.shared().baseUrl()), null, recorder);
+        AtomicReference<Product> live = new AtomicReference<>();
+        AtomicReference<Product> replayed = new AtomicReference<>();
+
+        LatencyRegistry.inScope(LatencyRegistry.LOAD, () -> live.set(recording.getProduct(2).join()));
+        recorder.save();
+        AsyncProductApiClient fromCassette = new AsyncProductApiClient(HttpClient.newHttpClient(),
+                ApiSpecs.forBaseUrl(UNREACHABLE), null, new Cassette(path, CassetteMode.REPLAY));
+        LatencyRegistry.inScope(LatencyRegistry.LOAD, () -> replayed.set(fromCassette.getProduct(2).join()));
+
+        assertThat(replayed.get()).isEqualTo(live.get());
+        assertThat(replayed.get().id()).isEqualTo(2);
+    }
+}
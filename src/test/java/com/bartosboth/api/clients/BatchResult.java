@@ -0,0 +1,10 @@
+package com.bartosboth.api.clients;
+
+import io.restassured.response.Response;
+
+public record BatchResult<T>(T item, Response response, Throwable failure) {
+
+    public boolean succeeded() {
+        return failure == null;
+    }
+}
@@ -1,64 +1,246 @@
 package com.bartosboth.api.clients;
-import com.bartosboth.api.config.BaseApiConfig;
+import com.bartosboth.api.config.ApiSpecs;
+import com.bartosboth.api.config.BlockingCalls;
+import com.bartosboth.api.config.StreamedBody;
+import com.bartosboth.api.json.CatalogFingerprint;
+import com.bartosboth.api.json.ProductStreamReader;
+import com.bartosboth.api.json.StreamedProduct;
+import com.bartosboth.api.metrics.LatencyRegistry;
+import com.bartosboth.api.model.Category;
 import com.bartosboth.api.model.Product;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import static io.restassured.RestAssured.given;
 
-public class ProductApiClient extends BaseApiConfig {
+public class ProductApiClient {
+
+    public static final int DEFAULT_BATCH_CONCURRENCY = Integer.getInteger("batch.concurrency", 8);
 
     private static final String PRODUCTS_ENDPOINT = "/products";
+    private static final Pattern SINGLE_PRODUCT = Pattern.compile("/\\d+");
+
+    private final ApiSpecs specs;
+    private final ResponseCache cache;
+    private final RequestPolicy policy;
+
+    public ProductApiClient() {
+        this(ApiSpecs.shared(), ResponseCache.sharedIfEnabled());
+    }
+
+    public ProductApiClient(ApiSpecs specs) {
+        this(specs, null);
+    }
+
+    public ProductApiClient(ApiSpecs specs, ResponseCache cache) {
+        this(specs, cache, RequestPolicy.shared());
+    }
+
+    public ProductApiClient(ApiSpecs specs, ResponseCache cache, RequestPolicy policy) {
+        this.specs = specs;
+        this.cache = cache;
+        this.policy = policy;
+    }
 
     public Response createProduct(Product product) {
-        return given()
-                .spec(createRequestSpec)
+        return verified(write(null, false, () -> buffered(given()
+                .spec(specs.createRequestSpec())
                 .body(product)
                 .when()
-                .post(PRODUCTS_ENDPOINT)
-                .then()
-                .spec(createdResponseSpec)
-                .extract().response();
+                .post(PRODUCTS_ENDPOINT))), specs.createdResponseSpec());
     }
 
     public Response getProducts() {
-        return given()
-                .spec(requestSpec)
-                .when()
-                .get(PRODUCTS_ENDPOINT)
-                .then()
-                .spec(successResponseSpec)
-                .extract().response();
+        return cachedGet(PRODUCTS_ENDPOINT, Map.of(), PRODUCTS_ENDPOINT);
+    }
+
+    public Response getProducts(ProductQuery query) {
+        return cachedGet(PRODUCTS_ENDPOINT + query.queryString(), query.parameters(), PRODUCTS_ENDPOINT);
+    }
+
+    public Response getCategories() {
+        return cachedGet(PRODUCTS_ENDPOINT + "/categories", Map.of(), PRODUCTS_ENDPOINT + "/categories");
+    }
+
+    public Response getProductsInCategory(Category category) {
+        return getProductsInCategory(category, ProductQuery.all());
+    }
+
+    public Response getProductsInCategory(Category category, ProductQuery query) {
+        return cachedGet(PRODUCTS_ENDPOINT + "/category/" + category.value() + query.queryString(), query.parameters(),
+                PRODUCTS_ENDPOINT + "/category/{category}", category.value());
+    }
+
+    public long streamProducts(boolean validateSchema, Consumer<StreamedProduct> visitor) {
+        return streamCatalog(body -> new ProductStreamReader(validateSchema).forEach(body, visitor));
+    }
+
+    public CatalogFingerprint fingerprintProducts() {
+        return streamCatalog(body -> {
+            CatalogFingerprint.Builder fingerprint = CatalogFingerprint.builder();
+            new ProductStreamReader(false).forEachJson(body, (json, index) -> fingerprint.add(json));
+            return fingerprint.build();
+        });
     }
 
     public Response getProduct(int id) {
-        return given()
-                .spec(requestSpec)
-                .when()
-                .get(PRODUCTS_ENDPOINT + "/{id}", id)
-                .then()
-                .spec(successResponseSpec)
-                .extract().response();
+        return cachedGet(PRODUCTS_ENDPOINT + "/" + id, Map.of(), PRODUCTS_ENDPOINT + "/{id}", id);
     }
 
     public Response updateProduct(int id, Product product) {
-        return given()
-                .spec(updateRequestSpec)
+        return verified(write(id, true, () -> buffered(given()
+                .spec(specs.updateRequestSpec())
                 .body(product)
                 .when()
-                .put(PRODUCTS_ENDPOINT + "/{id}", id)
-                .then()
-                .spec(updateResponseSpec)
-                .extract().response();
+                .put(PRODUCTS_ENDPOINT + "/{id}", id))), specs.updateResponseSpec());
     }
 
     public Response deleteProduct(int id) {
-        return given()
-                .spec(requestSpec)
+        return verified(write(id, true, () -> buffered(given()
+                .spec(specs.requestSpec())
                 .when()
-                .delete(PRODUCTS_ENDPOINT + "/{id}", id)
-                .then()
-                .spec(successResponseSpec)
+                .delete(PRODUCTS_ENDPOINT + "/{id}", id))), specs.successResponseSpec());
+    }
+
+    public List<BatchResult<Product>> createProducts(List<Product> products) {
+        return createProducts(products, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    public List<BatchResult<Product>> createProducts(List<Product> products, int concurrency) {
+        return runBatch(products, concurrency, this::createProduct);
+    }
+
+    public List<BatchResult<Integer>> updateProducts(Map<Integer, Product> products) {
+        return updateProducts(products, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    public List<BatchResult<Integer>> updateProducts(Map<Integer, Product> products, int concurrency) {
+        return runBatch(List.copyOf(products.keySet()), concurrency, id -> updateProduct(id, products.get(id)));
+    }
+
+    public List<BatchResult<Integer>> deleteProducts(Collection<Integer> ids) {
+        return deleteProducts(ids, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    public List<BatchResult<Integer>> deleteProducts(Collection<Integer> ids, int concurrency) {
+        return runBatch(List.copyOf(ids), concurrency, this::deleteProduct);
+    }
+
+    private static <T> List<BatchResult<T>> runBatch(List<T> items, int concurrency, Function<T, Response> call) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Batch concurrency must be at least 1: " + concurrency);
+        }
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<Response>> futures = new ArrayList<>(items.size());
+        try (ExecutorService executor = BlockingCalls.newPool("batch", concurrency)) {
+            for (T item : items) {
+                // Blocks the submitter once `concurrency` requests are in flight
+                permits.acquireUninterruptibly();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return call.apply(item);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<BatchResult<T>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                results.add(new BatchResult<>(items.get(i), futures.get(i).get(), null));
+            } catch (ExecutionException e) {
+                results.add(new BatchResult<>(items.get(i), null, e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(new BatchResult<>(items.get(i), null, e));
+            }
+        }
+        return results;
+    }
+
+    private <T> T streamCatalog(Function<InputStream, T> reader) {
+        // Not buffered, by filters either: the body is parsed as it arrives, and the policy releases the connection
+        // of discarded attempts
+        Response response = verified(policy.read("GET", PRODUCTS_ENDPOINT, () -> StreamedBody.call(() -> given()
+                .spec(specs.requestSpec())
+                .when()
+                .get(PRODUCTS_ENDPOINT))), specs.successResponseSpec());
+        try (InputStream body = response.asInputStream()) {
+            return reader.apply(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close product stream", e);
+        }
+    }
+
+    private Response cachedGet(String resolvedPath, Map<String, ?> queryParams, String path, Object... pathParams) {
+        if (cache == null) {
+            return get(null, queryParams, path, pathParams);
+        }
+        return cache.get(specs.baseUrl() + resolvedPath, etag -> get(etag, queryParams, path, pathParams));
+    }
+
+    private Response get(String etag, Map<String, ?> queryParams, String path, Object... pathParams) {
+        Response response = policy.read("GET", LatencyRegistry.endpoint(path, queryParams.keySet()), () -> {
+            RequestSpecification request = given().spec(specs.requestSpec()).queryParams(queryParams);
+            if (etag != null) {
+                request.header("If-None-Match", etag);
+            }
+            return buffered(request.when().get(path, pathParams));
+        });
+        if (etag != null && response.statusCode() == 304) {
+            return response;
+        }
+        return verified(response, specs.successResponseSpec());
+    }
+
+    // A GET racing the write can cache pre-write data, so drop the entries again once the write has landed
+    private Response write(Integer id, boolean idempotent, Callable<Response> call) {
+        invalidate(id);
+        try {
+            return policy.write(idempotent, call);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    // Any write can change every listing, but only the written product among the single-product entries
+    private void invalidate(Integer id) {
+        if (cache != null) {
+            String products = specs.baseUrl() + PRODUCTS_ENDPOINT;
+            String written = id == null ? null : products + "/" + id;
+            cache.invalidateIf(key -> key.startsWith(products)
+                    && (key.equals(written) || !SINGLE_PRODUCT.matcher(key.substring(products.length())).matches()));
+        }
+    }
+
+    private static Response verified(Response response, ResponseSpecification spec) {
+        return response.then()
+                .spec(spec)
                 .extract().response();
     }
 
+    // Reads the body fully so the pooled connection goes back to the pool even if the caller ignores it
+    private static Response buffered(Response response) {
+        response.asByteArray();
+        return response;
+    }
 }
@@ -0,0 +1,53 @@
+package com.bartosboth.api.clients;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/** Query parameters for product listings; {@code null} fields are left to the server's defaults. */
+public record ProductQuery(Integer limit, Sort sort) {
+
+    public enum Sort {
+        ASC,
+        DESC
+    }
+
+    public ProductQuery {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1: " + limit);
+        }
+    }
+
+    public static ProductQuery all() {
+        return new ProductQuery(null, null);
+    }
+
+    public static ProductQuery first(int limit) {
+        return new ProductQuery(limit, null);
+    }
+
+    public ProductQuery limit(int limit) {
+        return new ProductQuery(limit, sort);
+    }
+
+    public ProductQuery sorted(Sort sort) {
+        return new ProductQuery(limit, sort);
+    }
+
+    Map<String, Object> parameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (limit != null) {
+            parameters.put("limit", limit);
+        }
+        if (sort != null) {
+            parameters.put("sort", sort.name().toLowerCase(Locale.ROOT));
+        }
+        return parameters;
+    }
+
+    String queryString() {
+        StringBuilder query = new StringBuilder();
+        parameters().forEach((name, value) -> query.append(query.isEmpty() ? "?" : "&").append(name).append('=').append(value));
+        return query.toString();
+    }
+}
@@ -0,0 +1,337 @@
+package com.bartosboth.api.clients;
+
+import com.bartosboth.api.config.BlockingCalls;
+import com.bartosboth.api.config.ConnectionPool;
+import com.bartosboth.api.limiter.RetryAfter;
+import com.bartosboth.api.metrics.LatencyHistogram;
+import com.bartosboth.api.metrics.LatencyRegistry;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Retries and hedging for {@link ProductApiClient} calls.
+ *
+ * <p>Failed attempts are retried with full-jitter exponential backoff until {@code maxAttempts} or the overall
+ * deadline is reached. Idempotent calls retry on I/O errors and on 408, 429 and 5xx responses; other calls only
+ * retry when the connection was refused or the server answered 429 or 503, because then the request was not
+ * processed. A {@code Retry-After} header raises the backoff to at least the requested delay. An attempt still
+ * running when the deadline passes is aborted. Hedged calls send a second request if the first has not answered
+ * within the endpoint's observed {@code hedgePercentile} latency, use whichever answers first and abort the other.
+ */
+public class RequestPolicy {
+
+    private static final ExecutorService HEDGE_EXECUTOR = BlockingCalls.newPool("hedge",
+            Integer.getInteger("hedge.threads", 64));
+    private static final ScheduledThreadPoolExecutor DEADLINES = deadlineScheduler();
+    private static final int MIN_SAMPLES_FOR_PERCENTILE = 20;
+
+    private static volatile RequestPolicy shared;
+
+    private final int maxAttempts;
+    private final Duration deadline;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final boolean hedgingEnabled;
+    private final double hedgePercentile;
+    private final Duration hedgeDelay;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder deadlinesExceeded = new LongAdder();
+    private final LongAdder hedgedCalls = new LongAdder();
+    private final LongAdder hedgesFired = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+
+    public record Stats(long calls, long retries, long deadlinesExceeded, long hedgedCalls, long hedgesFired, long hedgesWon) {
+
+        public double hedgeRate() {
+            return hedgedCalls == 0 ? 0 : (double) hedgesFired / hedgedCalls;
+        }
+
+        public double hedgeWinRate() {
+            return hedgesFired == 0 ? 0 : (double) hedgesWon / hedgesFired;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d retries=%d deadlinesExceeded=%d hedges fired=%d/%d (%.1f%%) won=%d (%.1f%%)",
+                    calls, retries, deadlinesExceeded, hedgesFired, hedgedCalls, hedgeRate() * 100,
+                    hedgesWon, hedgeWinRate() * 100);
+        }
+    }
+
+    public RequestPolicy(int maxAttempts, Duration deadline, Duration backoffBase, Duration backoffMax,
+                         boolean hedgingEnabled, double hedgePercentile, Duration hedgeDelay) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.deadline = deadline;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    public static RequestPolicy shared() {
+        if (shared == null) {
+            synchronized (RequestPolicy.class) {
+                if (shared == null) {
+                    shared = new RequestPolicy(
+                            Integer.getInteger("retry.maxAttempts", 3),
+                            Duration.ofMillis(Long.getLong("retry.deadlineMillis", 10_000)),
+                            Duration.ofMillis(Long.getLong("retry.backoffMillis", 100)),
+                            Duration.ofMillis(Long.getLong("retry.maxBackoffMillis", 2_000)),
+                            Boolean.getBoolean("hedge.enabled"),
+                            Double.parseDouble(System.getProperty("hedge.percentile", "95")),
+                            Duration.ofMillis(Long.getLong("hedge.delayMillis", 1_000)));
+                }
+            }
+        }
+        return shared;
+    }
+
+    public static RequestPolicy noRetries() {
+        return new RequestPolicy(1, Duration.ofDays(1), Duration.ZERO, Duration.ZERO, false, 0, Duration.ZERO);
+    }
+
+    public Stats stats() {
+        return new Stats(calls.sum(), retries.sum(), deadlinesExceeded.sum(),
+                hedgedCalls.sum(), hedgesFired.sum(), hedgesWon.sum());
+    }
+
+    /** Runs an idempotent read, hedging it when enabled. {@code endpoint} is the {@link LatencyRegistry#endpoint} key. */
+    public Response read(String method, String endpoint, Callable<Response> call) {
+        return execute(true, deadlineNanos -> hedgingEnabled
+                ? hedged(method, endpoint, call, deadlineNanos)
+                : bounded(call, deadlineNanos));
+    }
+
+    public Response write(boolean idempotent, Callable<Response> call) {
+        return execute(idempotent, deadlineNanos -> bounded(call, deadlineNanos));
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        Response call(long deadlineNanos) throws Exception;
+    }
+
+    private Response execute(boolean idempotent, Attempt attempt) {
+        calls.increment();
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            Response response = null;
+            Exception failure = null;
+            try {
+                response = attempt.call(deadlineNanos);
+            } catch (DeadlineExceededException e) {
+                deadlinesExceeded.increment();
+                return result(null, e);
+            } catch (Exception e) {
+                failure = e;
+            }
+
+            boolean retryable = failure != null
+                    ? isRetryable(failure, idempotent)
+                    : isRetryable(response.statusCode(), idempotent);
+            if (!retryable || attemptNumber >= maxAttempts) {
+                return result(response, failure);
+            }
+            long backoffNanos = backoffNanos(attemptNumber, response);
+            if (System.nanoTime() + backoffNanos >= deadlineNanos) {
+                deadlinesExceeded.increment();
+                return result(response, failure);
+            }
+            retries.increment();
+            discard(response);
+            LockSupport.parkNanos(backoffNanos);
+        }
+    }
+
+    // Runs the attempt on the calling thread and aborts its connection if it outlives the deadline
+    private static Response bounded(Callable<Response> call, long deadlineNanos) throws Exception {
+        ConnectionPool.AbortHandle abort = new ConnectionPool.AbortHandle();
+        ScheduledFuture<?> watchdog = DEADLINES.schedule(abort::abort, deadlineNanos - System.nanoTime(),
+                TimeUnit.NANOSECONDS);
+        try {
+            return ConnectionPool.abortable(abort, call);
+        } catch (Exception e) {
+            throw abort.aborted() ? new DeadlineExceededException(e) : e;
+        } finally {
+            watchdog.cancel(false);
+        }
+    }
+
+    private Response hedged(String method, String endpoint, Callable<Response> call, long deadlineNanos) throws Exception {
+        hedgedCalls.increment();
+        Flight primary = Flight.launch(call);
+        Flight hedge = null;
+        try {
+            long hedgeAfter = Math.min(hedgeDelayNanos(method, endpoint), deadlineNanos - System.nanoTime());
+            try {
+                return primary.future().get(hedgeAfter, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // No answer within the usual tail latency: race a second request against the first
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            }
+            if (System.nanoTime() >= deadlineNanos) {
+                throw new DeadlineExceededException(null);
+            }
+
+            hedgesFired.increment();
+            hedge = Flight.launch(call);
+            CompletableFuture<Response> winner = new CompletableFuture<>();
+            AtomicBoolean decided = new AtomicBoolean();
+            AtomicInteger failures = new AtomicInteger();
+            primary.future().whenComplete((response, failure) ->
+                    complete(winner, response, failure, decided, failures, false));
+            hedge.future().whenComplete((response, failure) ->
+                    complete(winner, response, failure, decided, failures, true));
+            try {
+                return winner.get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw new DeadlineExceededException(null);
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            }
+        } finally {
+            // Frees the loser's pooled connection; the winner has already finished, so this is a no-op for it
+            primary.abort().abort();
+            if (hedge != null) {
+                hedge.abort().abort();
+            }
+        }
+    }
+
+    private record Flight(CompletableFuture<Response> future, ConnectionPool.AbortHandle abort) {
+
+        static Flight launch(Callable<Response> call) {
+            ConnectionPool.AbortHandle abort = new ConnectionPool.AbortHandle();
+            return new Flight(CompletableFuture.supplyAsync(
+                    () -> callUnchecked(LatencyRegistry.inCurrentScope(() -> ConnectionPool.abortable(abort, call))),
+                    HEDGE_EXECUTOR), abort);
+        }
+    }
+
+    private void complete(CompletableFuture<Response> winner, Response response, Throwable failure,
+                          AtomicBoolean decided, AtomicInteger failures, boolean isHedge) {
+        if (failure == null) {
+            // Claimed before completing the winner, so the stats are current once the caller has its response
+            if (decided.compareAndSet(false, true)) {
+                if (isHedge) {
+                    hedgesWon.increment();
+                }
+                winner.complete(response);
+            } else {
+                discard(response);
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(failure);
+        }
+    }
+
+    private long hedgeDelayNanos(String method, String endpoint) {
+        LatencyHistogram histogram = LatencyRegistry.find(method, endpoint);
+        if (histogram == null || histogram.count() < MIN_SAMPLES_FOR_PERCENTILE) {
+            return hedgeDelay.toNanos();
+        }
+        return TimeUnit.MICROSECONDS.toNanos(histogram.percentileMicros(hedgePercentile));
+    }
+
+    private long backoffNanos(int attemptNumber, Response response) {
+        long ceiling = Math.min(backoffMax.toNanos(), backoffBase.toNanos() << Math.min(attemptNumber - 1, 20));
+        long jittered = ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+        Duration retryAfter = response == null ? null : RetryAfter.parse(response.header("Retry-After"));
+        return retryAfter == null ? jittered : Math.max(jittered, retryAfter.toNanos());
+    }
+
+    private static boolean isRetryable(int status, boolean idempotent) {
+        if (status == 429 || status == 503) {
+            return true;
+        }
+        return idempotent && (status == 408 || status >= 500);
+    }
+
+    private static boolean isRetryable(Exception failure, boolean idempotent) {
+        return idempotent ? failure instanceof IOException : failure instanceof ConnectException;
+    }
+
+    private static Response result(Response response, Exception failure) {
+        if (failure == null) {
+            return response;
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        throw new IllegalStateException(failure);
+    }
+
+    // An unbuffered response holds its pooled connection until the body is closed
+    private static void discard(Response response) {
+        if (response != null) {
+            try {
+                response.asInputStream().close();
+            } catch (IOException | RuntimeException e) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor deadlineScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("request-deadlines").daemon().factory());
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static final class DeadlineExceededException extends SocketTimeoutException {
+
+        private static final long serialVersionUID = 1L;
+
+        DeadlineExceededException(Exception cause) {
+            super("Request deadline exceeded");
+            initCause(cause);
+        }
+    }
+
+    private static Response callUnchecked(Callable<Response> call) {
+        try {
+            return call.call();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static Exception unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return (Exception) cause;
+    }
+}
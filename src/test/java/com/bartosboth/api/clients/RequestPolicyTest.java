@@ -0,0 +1,206 @@
+package com.bartosboth.api.clients;
+
+import com.bartosboth.api.config.ConnectionPool;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The tests time deadlines and hedges and count leases on one pool, so they must not overlap each other
+@Execution(ExecutionMode.SAME_THREAD)
+public class RequestPolicyTest {
+
+    private static final Duration DEADLINE = Duration.ofSeconds(10);
+    private static final long SLOW_REPLY_MILLIS = 10_000;
+    private static final ConnectionPool POOL = new ConnectionPool(10, 10, Duration.ofSeconds(30), new ConnectionPool.Timeouts(
+            Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(1)));
+
+    private record Reply(int status, long delayMillis, Map<String, String> headers) {
+
+        static Reply status(int status) {
+            return new Reply(status, 0, Map.of());
+        }
+
+        static Reply slow(long delayMillis) {
+            return new Reply(200, delayMillis, Map.of());
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Reply> replies = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(4, Thread.ofPlatform().name("stub-", 1).daemon().factory());
+        server.setExecutor(executor);
+        server.createContext("/stub", this::handle);
+        server.start();
+        // Loads RestAssured up front, so deadlines and hedge delays are spent on the request under test
+        call();
+        requests.set(0);
+    }
+
+    @AfterEach
+    public void stopStub() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Idempotent reads retry on 503 until the server answers")
+    public void testRetriesServiceUnavailable() {
+        replies.add(Reply.status(503));
+        replies.add(Reply.status(503));
+        RequestPolicy policy = policy(3, DEADLINE, false);
+
+        Response response = policy.read("GET", "/stub", this::call);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(requests).hasValue(3);
+        assertThat(policy.stats().retries()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Writes retry on 429 but not on 500, which may have been processed")
+    public void testNonIdempotentRetries() {
+        replies.add(Reply.status(429));
+        RequestPolicy policy = policy(3, DEADLINE, false);
+        assertThat(policy.write(false, this::call).statusCode()).isEqualTo(200);
+        assertThat(requests).hasValue(2);
+
+        replies.add(Reply.status(500));
+        assertThat(policy.write(false, this::call).statusCode()).isEqualTo(500);
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Retry-After raises the backoff to the requested delay")
+    public void testRetryAfter() {
+        replies.add(new Reply(429, 0, Map.of("Retry-After", "1")));
+        RequestPolicy policy = policy(2, DEADLINE, false);
+
+        long start = System.nanoTime();
+        Response response = policy.read("GET", "/stub", this::call);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("A Retry-After beyond the deadline returns the throttled response instead of waiting")
+    public void testRetryAfterBeyondDeadline() {
+        replies.add(new Reply(503, 0, Map.of("Retry-After", "30")));
+        RequestPolicy policy = policy(3, DEADLINE, false);
+
+        assertThat(policy.read("GET", "/stub", this::call).statusCode()).isEqualTo(503);
+        assertThat(requests).hasValue(1);
+        assertThat(policy.stats().deadlinesExceeded()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An attempt still running at the deadline is aborted and its connection released")
+    public void testDeadlineAbortsAttempt() {
+        replies.add(Reply.slow(SLOW_REPLY_MILLIS));
+        RequestPolicy policy = policy(3, Duration.ofMillis(300), false);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> policy.read("GET", "/stub", this::call))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasCauseInstanceOf(SocketTimeoutException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(SLOW_REPLY_MILLIS / 2));
+        assertThat(requests).hasValue(1);
+        assertThat(policy.stats().deadlinesExceeded()).isEqualTo(1);
+        assertThat(POOL.stats().leased()).isZero();
+    }
+
+    @Test
+    @DisplayName("A slow read is hedged, the hedge wins and the losing request is aborted")
+    public void testHedgeWinsAndLoserIsAborted() throws InterruptedException {
+        replies.add(Reply.slow(SLOW_REPLY_MILLIS));
+        RequestPolicy policy = policy(1, DEADLINE, true);
+
+        long start = System.nanoTime();
+        Response response = policy.read("GET", "/stub", this::call);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(SLOW_REPLY_MILLIS / 2));
+        assertThat(requests).hasValue(2);
+        RequestPolicy.Stats stats = policy.stats();
+        assertThat(stats.hedgesFired()).isEqualTo(1);
+        assertThat(stats.hedgesWon()).isEqualTo(1);
+        long waitUntil = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (POOL.stats().leased() > 0 && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertThat(POOL.stats().leased()).isZero();
+    }
+
+    private RequestPolicy policy(int maxAttempts, Duration deadline, boolean hedging) {
+        return new RequestPolicy(maxAttempts, deadline, Duration.ofMillis(1), Duration.ofMillis(5),
+                hedging, 95, Duration.ofMillis(50));
+    }
+
+    private Response call() {
+        Response response = given()
+                .config(RestAssuredConfig.config().httpClient(POOL.httpClientConfig()))
+                .baseUri("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort())
+                .when()
+                .get("/stub");
+        response.asByteArray();
+        return response;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        Reply reply = replies.poll();
+        if (reply == null) {
+            reply = Reply.status(200);
+        }
+        try (exchange) {
+            if (reply.delayMillis() > 0) {
+                try {
+                    Thread.sleep(reply.delayMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            reply.headers().forEach(exchange.getResponseHeaders()::add);
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(reply.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.bartosboth.api.clients;
+
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Read-through cache for GET responses. Entries are fresh for {@code ttl}; after that they are revalidated with
+ * {@code If-None-Match} when the server sent an ETag, and refetched otherwise. The least recently used entry is
+ * evicted once {@code maxEntries} is reached.
+ */
+public class ResponseCache {
+
+    private static final int NOT_MODIFIED = 304;
+
+    private static volatile ResponseCache shared;
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record Entry(Response response, String etag, long storedAt) {
+    }
+
+    public record Stats(long hits, long misses, long revalidations, long evictions, long invalidations, int size) {
+
+        public double hitRatio() {
+            long lookups = hits + misses + revalidations;
+            return lookups == 0 ? 0 : (double) (hits + revalidations) / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("cache hits=%d misses=%d revalidated=%d evictions=%d invalidations=%d size=%d (%.0f%% served from cache)",
+                    hits, misses, revalidations, evictions, invalidations, size, hitRatio() * 100);
+        }
+    }
+
+    public ResponseCache(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** The cache shared by clients created without one, or {@code null} unless {@code -Dcache.enabled=true}. */
+    public static ResponseCache sharedIfEnabled() {
+        if (!Boolean.getBoolean("cache.enabled")) {
+            return null;
+        }
+        if (shared == null) {
+            synchronized (ResponseCache.class) {
+                if (shared == null) {
+                    shared = new ResponseCache(Duration.ofSeconds(Long.getLong("cache.ttlSeconds", 30)),
+                            Integer.getInteger("cache.maxEntries", 256));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the cached response for {@code key}, or calls {@code fetch} with the cached ETag (or {@code null}).
+     * A 304 from {@code fetch} renews the cached entry; anything else replaces it.
+     */
+    public Response get(String key, Function<String, Response> fetch) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        long now = System.nanoTime();
+        if (entry != null && now - entry.storedAt() < ttlNanos) {
+            hits.increment();
+            return entry.response();
+        }
+
+        long generationBeforeFetch = generation.get();
+        Response response = fetch.apply(entry == null ? null : entry.etag());
+        Entry fresh;
+        if (entry != null && response.statusCode() == NOT_MODIFIED) {
+            revalidations.increment();
+            fresh = new Entry(entry.response(), entry.etag(), now);
+        } else {
+            misses.increment();
+            fresh = new Entry(response, response.header("ETag"), now);
+        }
+        synchronized (entries) {
+            // A write that landed while we were fetching may have made this response stale
+            if (generation.get() == generationBeforeFetch) {
+                entries.put(key, fresh);
+            }
+        }
+        return fresh.response();
+    }
+
+    public void invalidate(String... keys) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            for (String key : keys) {
+                if (entries.remove(key) != null) {
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    public void invalidateIf(Predicate<String> keyFilter) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            Iterator<String> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keyFilter.test(keys.next())) {
+                    keys.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), revalidations.sum(), evictions.sum(), invalidations.sum(), size);
+    }
+}
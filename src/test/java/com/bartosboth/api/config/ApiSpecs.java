@@ -0,0 +1,107 @@
+package com.bartosboth.api.config;
+
+import com.bartosboth.api.cassette.Cassette;
+import com.bartosboth.api.cassette.CassetteFilter;
+import com.bartosboth.api.json.SchemaValidationFilter;
+import com.bartosboth.api.limiter.AdaptiveLimitFilter;
+import com.bartosboth.api.limiter.AdaptiveLimiter;
+import com.bartosboth.api.metrics.ApiCallEventFilter;
+import com.bartosboth.api.metrics.LatencyRecordingFilter;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.Matchers.*;
+
+public record ApiSpecs(
+        String baseUrl,
+        RequestSpecification requestSpec,
+        RequestSpecification createRequestSpec,
+        RequestSpecification updateRequestSpec,
+        ResponseSpecification successResponseSpec,
+        ResponseSpecification createdResponseSpec,
+        ResponseSpecification notFoundResponseSpec,
+        ResponseSpecification updateResponseSpec
+) {
+
+    public static final boolean VALIDATE_ALL_RESPONSES = Boolean.getBoolean("schema.validateResponses");
+    public static final boolean ADAPTIVE_CONCURRENCY = Boolean.getBoolean("limiter.enabled");
+
+    private static final Map<String, ApiSpecs> SHARED = new ConcurrentHashMap<>();
+
+    public static ApiSpecs shared() {
+        return forBaseUrl(BaseApiConfig.resolveBaseUrl());
+    }
+
+    public static ApiSpecs forBaseUrl(String baseUrl) {
+        return SHARED.computeIfAbsent(baseUrl, ApiSpecs::build);
+    }
+
+    public static ApiSpecs build(String baseUrl) {
+        RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setConfig(RestAssuredConfig.config().httpClient(ConnectionPool.shared().httpClientConfig()))
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .addHeader("User-Agent", "RestAssured-AutomationTest/1.0");
+        if (ADAPTIVE_CONCURRENCY) {
+            // Outermost, so latency below is measured without the time spent waiting for a permit
+            requestSpecBuilder.addFilter(new AdaptiveLimitFilter(AdaptiveLimiter.shared()));
+        }
+        if (VALIDATE_ALL_RESPONSES) {
+            requestSpecBuilder.addFilter(new SchemaValidationFilter());
+        }
+        requestSpecBuilder
+                .addFilter(new LatencyRecordingFilter())
+                .addFilter(new ApiCallEventFilter());
+        Cassette cassette = Cassette.shared();
+        if (cassette.active()) {
+            requestSpecBuilder.addFilter(new CassetteFilter(cassette));
+        }
+        RequestSpecification requestSpec = requestSpecBuilder.build();
+
+        RequestSpecification createRequestSpec = new RequestSpecBuilder()
+                .addRequestSpecification(requestSpec)
+                .setContentType(ContentType.JSON)
+                .build();
+
+        RequestSpecification updateRequestSpec = new RequestSpecBuilder()
+                .addRequestSpecification(requestSpec)
+                .setContentType(ContentType.JSON)
+                .build();
+
+        ResponseSpecification successResponseSpec = new ResponseSpecBuilder()
+                .expectStatusCode(200)
+                .expectHeader("Content-Type", containsString("application/json"))
+                .expectResponseTime(lessThan(5000L))
+                .build();
+
+        ResponseSpecification createdResponseSpec = new ResponseSpecBuilder()
+                .expectStatusCode(anyOf(equalTo(200), equalTo(201)))
+                .expectHeader("Content-Type", containsString("application/json"))
+                .expectResponseTime(lessThan(5000L))
+                .expectBody("id", notNullValue())
+                .build();
+
+        ResponseSpecification notFoundResponseSpec = new ResponseSpecBuilder()
+                .expectStatusCode(404)
+                .expectResponseTime(lessThan(5000L))
+                .build();
+
+        ResponseSpecification updateResponseSpec = new ResponseSpecBuilder()
+                .expectStatusCode(200)
+                .expectHeader("Content-Type", containsString("application/json"))
+                .expectResponseTime(lessThan(5000L))
+                .expectBody("id", notNullValue())
+                .build();
+
+        return new ApiSpecs(baseUrl, requestSpec, createRequestSpec, updateRequestSpec,
+                successResponseSpec, createdResponseSpec, notFoundResponseSpec, updateResponseSpec);
+    }
+}
@@ -1,72 +1,47 @@
 package com.bartosboth.api.config;
 
-import io.restassured.RestAssured;
-import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.builder.ResponseSpecBuilder;
-import io.restassured.http.ContentType;
+import com.bartosboth.api.cassette.CassetteExtension;
+import com.bartosboth.api.clients.RequestPolicy;
+import com.bartosboth.api.clients.ResponseCache;
+import com.bartosboth.api.metrics.LatencyReportExtension;
+import com.bartosboth.api.server.FakeStoreServer;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
-import org.junit.jupiter.api.BeforeAll;
-
-import static org.hamcrest.Matchers.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.extension.ExtendWith;
 
+@ExtendWith({LatencyReportExtension.class, CassetteExtension.class})
 public class BaseApiConfig {
 
     public static final String BASE_URL = "https://fakestoreapi.com";
+    public static final String API_TARGET = System.getProperty("api.target", "remote");
+
+    protected static final ApiSpecs specs = ApiSpecs.shared();
+
+    protected static final RequestSpecification requestSpec = specs.requestSpec();
+    protected static final RequestSpecification createRequestSpec = specs.createRequestSpec();
+    protected static final RequestSpecification updateRequestSpec = specs.updateRequestSpec();
+    protected static final ResponseSpecification successResponseSpec = specs.successResponseSpec();
+    protected static final ResponseSpecification createdResponseSpec = specs.createdResponseSpec();
+    protected static final ResponseSpecification notFoundResponseSpec = specs.notFoundResponseSpec();
+    protected static final ResponseSpecification updateResponseSpec = specs.updateResponseSpec();
+
+    @AfterAll
+    public static void printClientStats() {
+        ResponseCache cache = ResponseCache.sharedIfEnabled();
+        if (cache != null) {
+            System.out.println("Response cache: " + cache.stats());
+        }
+        RequestPolicy.Stats policyStats = RequestPolicy.shared().stats();
+        if (policyStats.retries() > 0 || policyStats.hedgesFired() > 0) {
+            System.out.println("Request policy: " + policyStats);
+        }
+    }
 
-    protected static RequestSpecification requestSpec;
-    protected static RequestSpecification createRequestSpec;
-    protected static RequestSpecification updateRequestSpec;
-    protected static ResponseSpecification successResponseSpec;
-    protected static ResponseSpecification createdResponseSpec;
-    protected static ResponseSpecification notFoundResponseSpec;
-    protected static ResponseSpecification updateResponseSpec;
-
-    @BeforeAll
-    public static void setupRestAssured() {
-        RestAssured.baseURI = BASE_URL;
-
-        requestSpec = new RequestSpecBuilder()
-                .setContentType(ContentType.JSON)
-                .setAccept(ContentType.JSON)
-                .addHeader("User-Agent", "RestAssured-AutomationTest/1.0")
-                .build();
-
-        createRequestSpec = new RequestSpecBuilder()
-                .addRequestSpecification(requestSpec)
-                .setContentType(ContentType.JSON)
-                .build();
-
-        updateRequestSpec = new RequestSpecBuilder()
-                .addRequestSpecification(requestSpec)
-                .setContentType(ContentType.JSON)
-                .build();
-
-        successResponseSpec = new ResponseSpecBuilder()
-                .expectStatusCode(200)
-                .expectHeader("Content-Type", containsString("application/json"))
-                .expectResponseTime(lessThan(5000L))
-                .build();
-
-        createdResponseSpec = new ResponseSpecBuilder()
-                .expectStatusCode(anyOf(equalTo(200), equalTo(201)))
-                .expectHeader("Content-Type", containsString("application/json"))
-                .expectResponseTime(lessThan(5000L))
-                .expectBody("id", notNullValue())
-                .build();
-
-
-        notFoundResponseSpec = new ResponseSpecBuilder()
-                .expectStatusCode(404)
-                .expectResponseTime(lessThan(5000L))
-                .build();
-
-        updateResponseSpec = new ResponseSpecBuilder()
-                .expectStatusCode(200)
-                .expectHeader("Content-Type", containsString("application/json"))
-                .expectResponseTime(lessThan(5000L))
-                .expectBody("id", notNullValue())
-                .build();
-
+    public static String resolveBaseUrl() {
+        if ("embedded".equalsIgnoreCase(API_TARGET)) {
+            return FakeStoreServer.shared().baseUrl();
+        }
+        return System.getProperty("api.baseUrl", BASE_URL);
     }
-}
\ No newline at end of file
+}
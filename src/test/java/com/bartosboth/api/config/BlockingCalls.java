@@ -0,0 +1,27 @@
+package com.bartosboth.api.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The one place that creates threads for blocking HTTP work: RestAssured calls, hedges, load workers and the
+ * embedded server's handlers.
+ * <p>
+ * RestAssured drives HttpClient 4, which blocks on sockets while holding monitors, and that pins a virtual thread
+ * to its carrier. There are only as many carriers as CPUs, so a few slow requests stall every other virtual
+ * thread, including the ones that would answer or abort them. On a single CPU, a 300 req/s load run on virtual
+ * threads took minutes instead of seconds. These pools therefore use platform threads, sized by their callers.
+ */
+public final class BlockingCalls {
+
+    private BlockingCalls() {
+    }
+
+    /** A fixed pool of {@code threads} daemon platform threads named {@code name-1}, {@code name-2}, ... */
+    public static ExecutorService newPool(String name, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A " + name + " pool needs at least 1 thread: " + threads);
+        }
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name(name + "-", 1).daemon().factory());
+    }
+}
@@ -0,0 +1,222 @@
+package com.bartosboth.api.config;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpHost;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keep-alive connection pool shared by every RestAssured request made through {@link ApiSpecs}. RestAssured 5
+ * still drives Apache HttpClient 4's legacy {@code DefaultHttpClient}, so the pool is the matching
+ * {@code PoolingClientConnectionManager}, instrumented to count opened sockets and leases.
+ */
+@SuppressWarnings("deprecation")
+public final class ConnectionPool {
+
+    private static final ConnectionPool SHARED = new ConnectionPool(
+            Integer.getInteger("http.pool.maxTotal", 200),
+            Integer.getInteger("http.pool.maxPerRoute", 50),
+            Duration.ofSeconds(Long.getLong("http.pool.idleSeconds", 30)),
+            new Timeouts(
+                    Duration.ofMillis(Long.getLong("http.connectTimeoutMillis", 5_000)),
+                    Duration.ofMillis(Long.getLong("http.socketTimeoutMillis", 30_000)),
+                    Duration.ofMillis(Long.getLong("http.pool.leaseTimeoutMillis", 10_000))));
+
+    private static final ThreadLocal<AbortHandle> CURRENT_ABORT = new ThreadLocal<>();
+
+    private final CountingConnectionManager connectionManager;
+    private final HttpClientConfig httpClientConfig;
+
+    public record Stats(long opened, long leases, long reused, int leased, int waiting, int available, int max) {
+
+        @Override
+        public String toString() {
+            return String.format("connections opened=%d leases=%d reused=%d leased=%d waiting=%d available=%d max=%d",
+                    opened, leases, reused, leased, waiting, available, max);
+        }
+    }
+
+    /** Bounds every phase of a request, so a stalled server or an exhausted pool fails a call instead of hanging it. */
+    public record Timeouts(Duration connect, Duration socket, Duration lease) {
+    }
+
+    /**
+     * Lets another thread abort a request while it waits for or uses its connection. Aborting shuts the socket down, so
+     * a blocked read fails at once and the connection is not handed back to the pool.
+     */
+    public static final class AbortHandle {
+
+        private ManagedClientConnection connection;
+        private boolean aborted;
+        private boolean finished;
+
+        public synchronized void abort() {
+            if (!aborted && !finished) {
+                aborted = true;
+                abortConnection();
+            }
+        }
+
+        public synchronized boolean aborted() {
+            return aborted;
+        }
+
+        private synchronized void attach(ManagedClientConnection leased) {
+            connection = leased;
+            if (aborted) {
+                abortConnection();
+            }
+        }
+
+        // Once the call has returned the connection may already be serving someone else's request
+        private synchronized void finish() {
+            finished = true;
+            connection = null;
+        }
+
+        private void abortConnection() {
+            if (connection != null) {
+                try {
+                    connection.abortConnection();
+                } catch (IOException e) {
+                    // The socket is being torn down either way
+                }
+            }
+        }
+    }
+
+    public ConnectionPool(int maxTotal, int maxPerRoute, Duration idleTimeout, Timeouts timeouts) {
+        connectionManager = new CountingConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        httpClientConfig = HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> {
+                    DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+                    HttpParams params = client.getParams();
+                    HttpConnectionParams.setConnectionTimeout(params, (int) timeouts.connect().toMillis());
+                    HttpConnectionParams.setSoTimeout(params, (int) timeouts.socket().toMillis());
+                    params.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, timeouts.lease().toMillis());
+                    // Keep retrying stale keep-alive connections, but not requests that were aborted on purpose
+                    DefaultHttpRequestRetryHandler retryHandler = new DefaultHttpRequestRetryHandler();
+                    client.setHttpRequestRetryHandler((exception, executionCount, context) -> {
+                        AbortHandle handle = CURRENT_ABORT.get();
+                        return (handle == null || !handle.aborted())
+                                && retryHandler.retryRequest(exception, executionCount, context);
+                    });
+                    return client;
+                });
+
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(1000, idleTimeout.toMillis() / 2);
+        evictor.scheduleAtFixedRate(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static ConnectionPool shared() {
+        return SHARED;
+    }
+
+    /** Runs {@code call} on the current thread so that {@code handle} aborts the connection it leases. */
+    public static <T> T abortable(AbortHandle handle, Callable<T> call) throws Exception {
+        if (handle.aborted()) {
+            throw new InterruptedIOException("Request aborted before it was sent");
+        }
+        AbortHandle previous = CURRENT_ABORT.get();
+        CURRENT_ABORT.set(handle);
+        try {
+            return call.call();
+        } finally {
+            handle.finish();
+            CURRENT_ABORT.set(previous);
+        }
+    }
+
+    public HttpClientConfig httpClientConfig() {
+        return httpClientConfig;
+    }
+
+    public Stats stats() {
+        PoolStats totals = connectionManager.getTotalStats();
+        long opened = connectionManager.opened.sum();
+        long leases = connectionManager.leases.sum();
+        return new Stats(opened, leases, Math.max(0, leases - opened),
+                totals.getLeased(), totals.getPending(), totals.getAvailable(), totals.getMax());
+    }
+
+    private static final class CountingConnectionManager extends PoolingClientConnectionManager {
+
+        private final LongAdder opened = new LongAdder();
+        private final LongAdder leases = new LongAdder();
+
+        CountingConnectionManager() {
+            super(SchemeRegistryFactory.createDefault());
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+            return new DefaultClientConnectionOperator(schemeRegistry) {
+                @Override
+                public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local,
+                                           HttpContext context, HttpParams params) throws IOException {
+                    opened.increment();
+                    super.openConnection(connection, target, local, context, params);
+                }
+            };
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ClientConnectionRequest request = super.requestConnection(route, state);
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    ManagedClientConnection connection = request.getConnection(timeout, unit);
+                    leases.increment();
+                    AbortHandle handle = CURRENT_ABORT.get();
+                    if (handle != null) {
+                        handle.attach(connection);
+                    }
+                    return connection;
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bartosboth.api.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks a RestAssured call whose caller reads the response body as a stream, so filters leave the body unread
+ * instead of buffering it. RestAssured runs every filter on the calling thread, so the mark is thread-local and
+ * only set for the duration of the call.
+ */
+public final class StreamedBody {
+
+    private static final ThreadLocal<Boolean> STREAMED = ThreadLocal.withInitial(() -> false);
+
+    private StreamedBody() {
+    }
+
+    public static <T> T call(Supplier<T> call) {
+        boolean previous = STREAMED.get();
+        STREAMED.set(true);
+        try {
+            return call.get();
+        } finally {
+            STREAMED.set(previous);
+        }
+    }
+
+    /** Whether the request being filtered on this thread is read as a stream. */
+    public static boolean active() {
+        return STREAMED.get();
+    }
+}
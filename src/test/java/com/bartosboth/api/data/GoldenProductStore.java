@@ -0,0 +1,184 @@
+package com.bartosboth.api.data;
+
+import com.bartosboth.api.model.Product;
+import com.bartosboth.api.server.FakeStoreServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Expected {@link Product} records, loaded once from the catalog {@link FakeStoreServer} serves (override with
+ * {@code -Dgolden.products}), so the expectations and the embedded API cannot drift apart. A {@link Comparison} checks responses field by field in one pass, allocating only
+ * when something differs, and fails once with every mismatch, so whole catalogs can be verified on every run.
+ */
+public final class GoldenProductStore {
+
+    public static final String DEFAULT_PATH = FakeStoreServer.CATALOG_PATH;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_REPORTED = 50;
+
+    private static volatile GoldenProductStore shared;
+
+    private final String source;
+    private final Map<Integer, Product> products;
+    private final int maxId;
+
+    private GoldenProductStore(String source, Product[] products) {
+        this.source = source;
+        Map<Integer, Product> byId = new HashMap<>(products.length * 2);
+        int highest = 0;
+        for (Product product : products) {
+            byId.put(product.id(), product);
+            highest = Math.max(highest, product.id());
+        }
+        this.products = Map.copyOf(byId);
+        this.maxId = highest;
+    }
+
+    public static GoldenProductStore shared() {
+        if (shared == null) {
+            synchronized (GoldenProductStore.class) {
+                if (shared == null) {
+                    shared = load(System.getProperty("golden.products", DEFAULT_PATH));
+                }
+            }
+        }
+        return shared;
+    }
+
+    public static GoldenProductStore load(String classpathJson) {
+        try (InputStream inputStream = GoldenProductStore.class.getClassLoader().getResourceAsStream(classpathJson)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Golden products not found on classpath: " + classpathJson);
+            }
+            return new GoldenProductStore(classpathJson, MAPPER.readValue(inputStream, Product[].class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load golden products: " + classpathJson, e);
+        }
+    }
+
+    public Product expected(int id) {
+        return products.get(id);
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    public Comparison compare() {
+        return new Comparison();
+    }
+
+    public void assertMatches(Product actual) {
+        Comparison comparison = compare();
+        comparison.add(actual);
+        comparison.assertNoMismatches();
+    }
+
+    public void assertCatalog(Iterable<Product> actual) {
+        Comparison comparison = compare();
+        actual.forEach(comparison::add);
+        comparison.assertComplete();
+    }
+
+    public record Mismatch(Integer id, String field, Object expected, Object actual) {
+
+        @Override
+        public String toString() {
+            return "product " + id + " " + field + ": expected " + render(expected) + " but was " + render(actual);
+        }
+
+        private static String render(Object value) {
+            return value instanceof String text ? '"' + text + '"' : String.valueOf(value);
+        }
+    }
+
+    /** Accumulates mismatches for any number of products; not thread-safe, use one per stream or response. */
+    public final class Comparison {
+
+        private final List<Mismatch> mismatches = new ArrayList<>();
+        private final List<Integer> unexpected = new ArrayList<>();
+        private final BitSet seen = new BitSet(maxId + 1);
+        private int compared;
+
+        public void add(Product actual) {
+            compared++;
+            Product expected = actual.id() == null ? null : products.get(actual.id());
+            if (expected == null) {
+                unexpected.add(actual.id());
+                return;
+            }
+            seen.set(actual.id());
+            Integer id = actual.id();
+            field(id, "title", expected.title(), actual.title());
+            field(id, "price", expected.price(), actual.price());
+            field(id, "description", expected.description(), actual.description());
+            field(id, "category", expected.category(), actual.category());
+            field(id, "image", expected.image(), actual.image());
+            Product.Rating expectedRating = expected.rating();
+            Product.Rating actualRating = actual.rating();
+            if (expectedRating == null || actualRating == null) {
+                field(id, "rating", expectedRating, actualRating);
+            } else {
+                field(id, "rating.rate", expectedRating.rate(), actualRating.rate());
+                field(id, "rating.count", expectedRating.count(), actualRating.count());
+            }
+        }
+
+        public List<Mismatch> mismatches() {
+            return List.copyOf(mismatches);
+        }
+
+        public int compared() {
+            return compared;
+        }
+
+        public void assertNoMismatches() {
+            fail(List.of());
+        }
+
+        /** Also fails for golden products that never showed up, for responses that should hold the whole catalog. */
+        public void assertComplete() {
+            List<String> missing = new ArrayList<>();
+            for (int id = 0; id <= maxId; id++) {
+                if (products.containsKey(id) && !seen.get(id)) {
+                    missing.add("product " + id + " missing from response");
+                }
+            }
+            fail(missing);
+        }
+
+        private void field(Integer id, String field, Object expected, Object actual) {
+            if (!Objects.equals(expected, actual)) {
+                mismatches.add(new Mismatch(id, field, expected, actual));
+            }
+        }
+
+        private void fail(List<String> missing) {
+            if (mismatches.isEmpty() && unexpected.isEmpty() && missing.isEmpty()) {
+                return;
+            }
+            List<Object> lines = new ArrayList<>(mismatches);
+            unexpected.forEach(id -> lines.add("product " + id + " has no golden snapshot"));
+            lines.addAll(missing);
+            int total = lines.size();
+            StringBuilder report = new StringBuilder()
+                    .append(total).append(" difference(s) from ").append(source)
+                    .append(" across ").append(compared).append(" product(s):");
+            lines.stream().limit(MAX_REPORTED).forEach(line -> report.append("\n   - ").append(line));
+            if (total > MAX_REPORTED) {
+                report.append("\n   ... and ").append(total - MAX_REPORTED).append(" more");
+            }
+            throw new AssertionError(report.toString());
+        }
+    }
+}
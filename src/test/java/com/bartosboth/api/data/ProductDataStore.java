@@ -0,0 +1,212 @@
+package com.bartosboth.api.data;
+
+import com.bartosboth.api.model.Product;
+import com.opencsv.CSVParser;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class ProductDataStore {
+
+    public static final int CREATE_SLICE_SIZE = 3;
+
+    private static final Map<String, ProductDataStore> STORES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<CSVParser> PARSERS = ThreadLocal.withInitial(CSVParser::new);
+
+    private final String source;
+    private final List<Product> products;
+
+    private ProductDataStore(String source, List<Product> products) {
+        this.source = source;
+        this.products = List.copyOf(products);
+    }
+
+    public static ProductDataStore of(String classpathCsv) {
+        return STORES.computeIfAbsent(classpathCsv, ProductDataStore::load);
+    }
+
+    public List<Product> products() {
+        return products;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    public Product get(int index) {
+        return products.get(index);
+    }
+
+    public List<Product> createSlice() {
+        return products.subList(0, Math.min(CREATE_SLICE_SIZE, products.size()));
+    }
+
+    public List<Product> updateSlice() {
+        return products.size() > CREATE_SLICE_SIZE ? products.subList(CREATE_SLICE_SIZE, products.size()) : List.of();
+    }
+
+    @Override
+    public String toString() {
+        return "ProductDataStore[" + source + ", " + products.size() + " products]";
+    }
+
+    /**
+     * Streams the products of a CSV file through a memory map, one record at a time. Reads the same records as
+     * {@link #load}, including quoted fields that span lines.
+     */
+    public static Stream<Product> stream(Path csvFile) {
+        MappedRecordSpliterator records = new MappedRecordSpliterator(csvFile);
+        return StreamSupport.stream(records, false)
+                .skip(1)
+                .map(ProductDataStore::parseRecord)
+                .filter(record -> record.length >= 5)
+                .map(ProductDataStore::toProduct)
+                .onClose(records::close);
+    }
+
+    static Product toProduct(String[] record) {
+        return new Product(
+                record[0].trim(), // title
+                Double.parseDouble(record[1].trim()), // price
+                record[2].trim(), // category
+                record[3].trim(), // description
+                record[4].trim()  // image
+        );
+    }
+
+    /** Parses the CSV afresh on every call; use {@link #of} for the shared cached store. */
+    public static ProductDataStore load(String csvPath) {
+        InputStream inputStream = ProductDataStore.class.getClassLoader().getResourceAsStream(csvPath);
+        if (inputStream == null) {
+            throw new IllegalArgumentException("CSV not found on classpath: " + csvPath);
+        }
+        return read(new InputStreamReader(inputStream, StandardCharsets.UTF_8), csvPath);
+    }
+
+    static ProductDataStore read(Reader reader, String source) {
+        List<Product> products = new ArrayList<>();
+        try (CSVReader csvReader = new CSVReaderBuilder(reader)
+                .withSkipLines(1)
+                .build()) {
+            for (String[] record : csvReader) {
+                if (record.length >= 5) {
+                    products.add(toProduct(record));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Failed to load products from CSV: " + source, e);
+        }
+        return new ProductDataStore(source, products);
+    }
+
+    private static String[] parseRecord(String record) {
+        try {
+            return PARSERS.get().parseLine(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse CSV record: " + record, e);
+        }
+    }
+
+    /**
+     * Splits the mapped file into CSV records: at line breaks, except inside a quoted field. Line breaks are
+     * normalised to {@code \n}, as {@link CSVReader} does.
+     */
+    private static final class MappedRecordSpliterator extends Spliterators.AbstractSpliterator<String>
+            implements AutoCloseable {
+
+        private static final long REGION_SIZE = 256L * 1024 * 1024;
+
+        private final FileChannel channel;
+        private final long fileSize;
+        private long regionStart;
+        private MappedByteBuffer region;
+        private byte[] recordBuffer = new byte[256];
+
+        MappedRecordSpliterator(Path file) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.READ);
+                this.fileSize = channel.size();
+                this.region = map(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map CSV file: " + file, e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            int length = 0;
+            // An escaped quote ("") toggles twice, so it leaves the state unchanged
+            boolean quoted = false;
+            while (true) {
+                if (!region.hasRemaining()) {
+                    if (regionStart + region.capacity() >= fileSize) {
+                        break;
+                    }
+                    region = map(regionStart + region.capacity());
+                }
+                byte b = region.get();
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n') {
+                    if (length > 0 && recordBuffer[length - 1] == '\r') {
+                        length--;
+                    }
+                    if (!quoted) {
+                        break;
+                    }
+                }
+                if (length == recordBuffer.length) {
+                    recordBuffer = Arrays.copyOf(recordBuffer, length * 2);
+                }
+                recordBuffer[length++] = b;
+            }
+            if (length > 0 && recordBuffer[length - 1] == '\r') {
+                length--;
+            }
+            if (length == 0 && !region.hasRemaining() && regionStart + region.capacity() >= fileSize) {
+                return false;
+            }
+            action.accept(new String(recordBuffer, 0, length, StandardCharsets.UTF_8));
+            return true;
+        }
+
+        private MappedByteBuffer map(long position) {
+            try {
+                regionStart = position;
+                return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, fileSize - position));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map CSV region at offset " + position, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close CSV file", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.bartosboth.api.data;
+
+import com.bartosboth.api.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProductDataStoreTest {
+
+    private static final String HEADER = "title,price,category,description,image\n";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("The mapped stream reads the same products as the CSV reader")
+    public void testStreamMatchesLoad() throws IOException {
+        String csv = HEADER
+                + "Plain,1.50,electronics,Simple row,https://example.com/1.png\n"
+                + "\"Quoted, with comma\",2.00,jewelery,\"Says \"\"hi\"\"\",https://example.com/2.png\n"
+                + "\n"
+                + "Café,3.25,men's clothing,Non-ASCII title,https://example.com/3.png";
+
+        assertThat(streamed(csv)).hasSize(3).containsExactlyElementsOf(loaded(csv));
+        assertThat(streamed(csv).get(1).description()).isEqualTo("Says \"hi\"");
+    }
+
+    @Test
+    @DisplayName("A quoted field spanning lines stays one record in the mapped stream")
+    public void testMultiLineField() throws IOException {
+        String csv = HEADER
+                + "Lamp,10.00,electronics,\"First line\nsecond line\",https://example.com/lamp.png\n"
+                + "Mug,4.00,electronics,\"Windows line\r\nbreak\",https://example.com/mug.png\r\n"
+                + "Rug,20.00,electronics,Last,https://example.com/rug.png\n";
+
+        List<Product> products = streamed(csv);
+
+        assertThat(products).extracting(Product::title).containsExactly("Lamp", "Mug", "Rug");
+        assertThat(products.get(0).description()).isEqualTo("First line\nsecond line");
+        assertThat(products.get(1).description()).isEqualTo("Windows line\nbreak");
+        assertThat(products).containsExactlyElementsOf(loaded(csv));
+    }
+
+    @Test
+    @DisplayName("Records longer than the initial buffer are read whole")
+    public void testLongRecord() throws IOException {
+        String description = "x".repeat(10_000);
+        String csv = HEADER + "Long,1.00,electronics," + description + ",https://example.com/long.png\n";
+
+        assertThat(streamed(csv)).singleElement().extracting(Product::description).isEqualTo(description);
+    }
+
+    @Test
+    @DisplayName("The first rows are created and the rest are used as updates")
+    public void testCreateAndUpdateSlices() {
+        ProductDataStore store = ProductDataStore.of(ProductTestDataFactory.DEFAULT_CSV);
+
+        assertThat(store.createSlice()).hasSize(ProductDataStore.CREATE_SLICE_SIZE)
+                .containsExactlyElementsOf(store.products().subList(0, ProductDataStore.CREATE_SLICE_SIZE));
+        assertThat(store.updateSlice()).extracting(Product::title)
+                .containsExactly("Updated Gaming Console", "Updated Headphones");
+        assertThat(ProductDataStore.of(ProductTestDataFactory.DEFAULT_CSV)).isSameAs(store);
+
+        ProductDataStore small = ProductDataStore.read(new StringReader(
+                HEADER + "Only,1.00,electronics,One row,https://example.com/1.png\n"), "small");
+        assertThat(small.createSlice()).hasSize(1);
+        assertThat(small.updateSlice()).isEmpty();
+    }
+
+    private List<Product> streamed(String csv) throws IOException {
+        Path file = Files.writeString(directory.resolve("products.csv"), csv, StandardCharsets.UTF_8);
+        try (Stream<Product> products = ProductDataStore.stream(file)) {
+            return products.toList();
+        }
+    }
+
+    private static List<Product> loaded(String csv) {
+        return ProductDataStore.read(new StringReader(csv), "inline").products();
+    }
+}
@@ -1,16 +1,17 @@
 package com.bartosboth.api.data;
 
 import com.bartosboth.api.model.Product;
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ProductTestDataFactory {
+
+    public static final String DEFAULT_CSV = "test-data/products.csv";
+    public static final long DEFAULT_SEED = Long.getLong("data.seed", 42);
+
+    private static final SyntheticProductGenerator GENERATOR = new SyntheticProductGenerator(DEFAULT_SEED);
+
     public static Product createValidProduct() {
         return new Product(
                 "Test Product",
@@ -22,50 +23,34 @@ public class ProductTestDataFactory {
     }
 
     public static List<Product> loadProductsFromCsv(String csvPath) {
-        List<Product> products = new ArrayList<>();
-        try (InputStream inputStream = ProductTestDataFactory.class
-                .getClassLoader().getResourceAsStream(csvPath);
-             CSVReader csvReader = new CSVReader(new InputStreamReader(inputStream))) {
-            List<String[]> records = csvReader.readAll();
-
-            for (int i = 1; i < records.size(); i++) {
-                String[] record = records.get(i);
-                if (record.length >= 5) {
-                    Product product = new Product(
-                            record[0].trim(), // title
-                            Double.parseDouble(record[1].trim()), // price
-                            record[2].trim(), // category
-                            record[3].trim(), // description
-                            record[4].trim()  // image
-                    );
-                    products.add(product);
-                }
-            }
-        } catch (IOException | CsvException | NumberFormatException e) {
-            throw new RuntimeException("Failed to load products from CSV: " + csvPath, e);
-        }
-        return products;
+        return ProductDataStore.of(csvPath).products();
     }
 
     public static List<Product> getCreateProducts() {
-        List<Product> allProducts = loadProductsFromCsv("test-data/products.csv");
-        return allProducts.subList(0, Math.min(3, allProducts.size()));
+        return ProductDataStore.of(DEFAULT_CSV).createSlice();
     }
 
     public static List<Product> getUpdateProducts() {
-        List<Product> allProducts = loadProductsFromCsv("test-data/products.csv");
-        int size = allProducts.size();
-        if (size > 3) {
-            return allProducts.subList(3, size);
+        List<Product> updateProducts = ProductDataStore.of(DEFAULT_CSV).updateSlice();
+        if (!updateProducts.isEmpty()) {
+            return updateProducts;
         }
         return List.of(createValidProduct());
     }
 
     public static Product getProductByIndex(int index) {
-        List<Product> products = loadProductsFromCsv("test-data/products.csv");
-        if (index >= 0 && index < products.size()) {
-            return products.get(index);
+        ProductDataStore store = ProductDataStore.of(DEFAULT_CSV);
+        if (index >= 0 && index < store.size()) {
+            return store.get(index);
         }
         return createValidProduct();
     }
+
+    public static Product syntheticProduct(long index) {
+        return GENERATOR.product(index);
+    }
+
+    public static Stream<Product> syntheticProducts(long count) {
+        return GENERATOR.stream(count);
+    }
 }
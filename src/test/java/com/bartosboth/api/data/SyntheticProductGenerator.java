@@ -0,0 +1,128 @@
+package com.bartosboth.api.data;
+
+import com.bartosboth.api.json.SchemaRegistry;
+import com.bartosboth.api.model.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic product generator for load and soak runs. Every product is a pure function of
+ * {@code (seed, index)}, so streams can be replayed, split or accessed at random without shared state.
+ */
+public final class SyntheticProductGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final String[] CATEGORIES = loadCategories();
+    private static final String[] ADJECTIVES = {
+            "Classic", "Slim", "Premium", "Portable", "Wireless", "Casual", "Vintage", "Ultra", "Compact",
+            "Lightweight", "Waterproof", "Handmade", "Rose Gold", "Sterling", "Cotton", "Leather", "Smart", "Curved"
+    };
+    private static final String[] GENERIC_NOUNS = {"Item", "Set", "Bundle", "Edition"};
+    private static final Map<String, String[]> NOUNS_BY_CATEGORY = Map.of(
+            "electronics", new String[]{"SSD", "Monitor", "Headphones", "Hard Drive", "Keyboard", "Router", "Webcam", "Tablet"},
+            "jewelery", new String[]{"Bracelet", "Ring", "Necklace", "Earrings", "Pendant", "Anklet", "Brooch", "Charm"},
+            "men's clothing", new String[]{"Backpack", "Jacket", "T-Shirt", "Hoodie", "Chinos", "Sneakers", "Belt", "Cap"},
+            "women's clothing", new String[]{"Raincoat", "Blouse", "Dress", "Cardigan", "Tunic", "Snowboard Jacket", "Skirt", "Top"}
+    );
+    private static final String[] DESCRIPTION_WORDS = {
+            "perfect", "for", "everyday", "use", "with", "durable", "soft", "fabric", "and", "fast", "transfer",
+            "speeds", "designed", "to", "last", "great", "gift", "choice", "lightweight", "comfortable", "fit",
+            "high", "capacity", "warranty", "included", "easy", "setup", "stylish", "look", "in", "any", "season"
+    };
+
+    private final long seed;
+
+    public SyntheticProductGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public Stream<Product> stream(long count) {
+        return LongStream.range(0, count).mapToObj(this::product);
+    }
+
+    public Stream<Product> stream() {
+        return LongStream.iterate(0, index -> index + 1).mapToObj(this::product);
+    }
+
+    public Product product(long index) {
+        long base = mix(seed + index * GOLDEN_GAMMA);
+        String category = CATEGORIES[(int) bounded(base, 1, CATEGORIES.length)];
+        return new Product(
+                title(base, category),
+                price(base),
+                category,
+                description(base),
+                "https://fakestoreapi.com/img/synthetic/" + Long.toString(draw(base, 2) >>> 1, 36) + ".jpg"
+        );
+    }
+
+    private static String title(long base, String category) {
+        String[] nouns = NOUNS_BY_CATEGORY.getOrDefault(category, GENERIC_NOUNS);
+        int adjectives = 1 + (int) bounded(base, 3, 3);
+        StringBuilder title = new StringBuilder(64);
+        for (int i = 0; i < adjectives; i++) {
+            title.append(ADJECTIVES[(int) bounded(base, 10 + i, ADJECTIVES.length)]).append(' ');
+        }
+        return title.append(nouns[(int) bounded(base, 4, nouns.length)])
+                .append(" No. ")
+                .append(1 + bounded(base, 5, 999))
+                .toString();
+    }
+
+    private static double price(long base) {
+        // Log-uniform between ~$4.50 and ~$1000: many cheap items, a long tail of expensive ones
+        double unit = (draw(base, 6) >>> 11) * 0x1.0p-53;
+        return Math.round(Math.exp(1.5 + unit * 5.4) * 100) / 100.0;
+    }
+
+    private static String description(long base) {
+        int words = 5 + (int) bounded(base, 7, 56);
+        StringBuilder description = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(DESCRIPTION_WORDS[(int) bounded(base, 20 + i, DESCRIPTION_WORDS.length)]);
+        }
+        return description.append('.').toString();
+    }
+
+    private static long bounded(long base, int stream, int bound) {
+        return Long.remainderUnsigned(draw(base, stream), bound);
+    }
+
+    private static long draw(long base, int stream) {
+        return mix(base + stream * GOLDEN_GAMMA);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String[] loadCategories() {
+        try (InputStream inputStream = SyntheticProductGenerator.class.getClassLoader()
+                .getResourceAsStream(SchemaRegistry.PRODUCT_SCHEMA)) {
+            JsonNode categories = new ObjectMapper().readTree(inputStream).at("/properties/category/enum");
+            List<String> values = new ArrayList<>();
+            categories.forEach(category -> values.add(category.asText()));
+            if (values.isEmpty()) {
+                throw new IllegalStateException("No category enum in " + SchemaRegistry.PRODUCT_SCHEMA);
+            }
+            return values.toArray(String[]::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read categories from " + SchemaRegistry.PRODUCT_SCHEMA, e);
+        }
+    }
+}
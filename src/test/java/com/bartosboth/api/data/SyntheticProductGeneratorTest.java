@@ -0,0 +1,72 @@
+package com.bartosboth.api.data;
+
+import com.bartosboth.api.json.SchemaRegistry;
+import com.bartosboth.api.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SyntheticProductGeneratorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("The same seed and index always give the same product, in any access order")
+    public void testDeterministic() {
+        List<Product> streamed = new SyntheticProductGenerator(42).stream(200).toList();
+        SyntheticProductGenerator other = new SyntheticProductGenerator(42);
+
+        for (int index = 199; index >= 0; index--) {
+            assertThat(other.product(index)).as("index %d", index).isEqualTo(streamed.get(index));
+        }
+        assertThat(new SyntheticProductGenerator(42).stream().skip(150).findFirst()).contains(streamed.get(150));
+    }
+
+    @Test
+    @DisplayName("Different seeds and indexes give different products")
+    public void testSeedsDiffer() {
+        List<Product> first = new SyntheticProductGenerator(1).stream(200).toList();
+        List<Product> second = new SyntheticProductGenerator(2).stream(200).toList();
+
+        for (int index = 0; index < first.size(); index++) {
+            assertThat(second.get(index)).as("index %d", index).isNotEqualTo(first.get(index));
+        }
+        assertThat(new HashSet<>(first)).hasSize(first.size());
+    }
+
+    @Test
+    @DisplayName("Every generated category is in the schema enum, and every enum value is generated")
+    public void testCategoriesFromSchema() throws IOException {
+        Set<String> schemaCategories = new HashSet<>();
+        try (InputStream schema = getClass().getClassLoader().getResourceAsStream(SchemaRegistry.PRODUCT_SCHEMA)) {
+            MAPPER.readTree(schema).at("/properties/category/enum")
+                    .forEach(category -> schemaCategories.add(category.asText()));
+        }
+
+        Set<String> generated = new HashSet<>();
+        new SyntheticProductGenerator(7).stream(1000).forEach(product -> generated.add(product.category()));
+
+        assertThat(schemaCategories).isNotEmpty();
+        assertThat(generated).isEqualTo(schemaCategories);
+    }
+
+    @Test
+    @DisplayName("Generated products pass the product schema once the server assigns an id")
+    public void testProductsMatchSchema() {
+        new SyntheticProductGenerator(3).stream(100).forEach(product -> {
+            ObjectNode json = MAPPER.valueToTree(product);
+            json.put("id", 21);
+            SchemaRegistry.validate(SchemaRegistry.PRODUCT_SCHEMA, json);
+            assertThat(product.price()).isPositive();
+        });
+    }
+}
@@ -0,0 +1,210 @@
+package com.bartosboth.api.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Merkle-style fingerprint of the product catalog. Each product is hashed from its canonical JSON (properties
+ * sorted), the leaves are ordered by id and hashed pairwise up to a single root. Equal roots mean an unchanged
+ * catalog; otherwise {@link #diff} descends only into differing subtrees to name the changed ids.
+ */
+public final class CatalogFingerprint {
+
+    private static final ObjectMapper CANONICAL = JsonMapper.builder()
+            .enable(JsonNodeFeature.WRITE_PROPERTIES_SORTED)
+            .build();
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final int[] ids;
+    private final List<long[]> levels;
+
+    public record Diff(SortedSet<Integer> added, SortedSet<Integer> removed, SortedSet<Integer> changed) {
+
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return isEmpty() ? "no changes" : "added=" + added + " removed=" + removed + " changed=" + changed;
+        }
+    }
+
+    public static final class Builder {
+
+        private final SortedMap<Integer, Long> leaves = new TreeMap<>();
+
+        public Builder add(JsonNode product) {
+            JsonNode id = product.get("id");
+            if (id == null || !id.canConvertToInt()) {
+                throw new AssertionError("Product without an integer id cannot be fingerprinted: " + product);
+            }
+            if (leaves.put(id.intValue(), hash(canonicalBytes(product))) != null) {
+                throw new AssertionError("Duplicate product id in catalog: " + id.intValue());
+            }
+            return this;
+        }
+
+        public CatalogFingerprint build() {
+            return new CatalogFingerprint(leaves);
+        }
+    }
+
+    private CatalogFingerprint(SortedMap<Integer, Long> leaves) {
+        this.ids = leaves.keySet().stream().mapToInt(Integer::intValue).toArray();
+        this.levels = buildLevels(leaves.values().stream().mapToLong(Long::longValue).toArray());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String root() {
+        long[] top = levels.getLast();
+        return top.length == 0 ? "" : HEX.toHexDigits(top[0]);
+    }
+
+    public Diff diff(CatalogFingerprint previous) {
+        SortedSet<Integer> added = new TreeSet<>();
+        SortedSet<Integer> removed = new TreeSet<>();
+        SortedSet<Integer> changed = new TreeSet<>();
+        if (Arrays.equals(ids, previous.ids)) {
+            // Same shape: only walk subtrees whose hashes differ
+            if (ids.length > 0) {
+                collectChanged(previous, levels.size() - 1, 0, changed);
+            }
+        } else {
+            Map<Integer, Long> current = leaves();
+            Map<Integer, Long> before = previous.leaves();
+            current.forEach((id, hash) -> {
+                Long old = before.get(id);
+                if (old == null) {
+                    added.add(id);
+                } else if (!old.equals(hash)) {
+                    changed.add(id);
+                }
+            });
+            before.keySet().stream().filter(id -> !current.containsKey(id)).forEach(removed::add);
+        }
+        return new Diff(Collections.unmodifiableSortedSet(added), Collections.unmodifiableSortedSet(removed),
+                Collections.unmodifiableSortedSet(changed));
+    }
+
+    private void collectChanged(CatalogFingerprint previous, int level, int index, SortedSet<Integer> changed) {
+        if (levels.get(level)[index] == previous.levels.get(level)[index]) {
+            return;
+        }
+        if (level == 0) {
+            changed.add(ids[index]);
+            return;
+        }
+        int child = index * 2;
+        collectChanged(previous, level - 1, child, changed);
+        if (child + 1 < levels.get(level - 1).length) {
+            collectChanged(previous, level - 1, child + 1, changed);
+        }
+    }
+
+    private Map<Integer, Long> leaves() {
+        Map<Integer, Long> leaves = new TreeMap<>();
+        long[] hashes = levels.getFirst();
+        for (int i = 0; i < ids.length; i++) {
+            leaves.put(ids[i], hashes[i]);
+        }
+        return leaves;
+    }
+
+    public void write(Path path) {
+        ObjectNode json = MAPPER.createObjectNode().put("root", root()).put("size", size());
+        ObjectNode products = json.putObject("products");
+        leaves().forEach((id, hash) -> products.put(String.valueOf(id), HEX.toHexDigits(hash)));
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            MAPPER.writeValue(path.toFile(), json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write catalog fingerprint: " + path, e);
+        }
+    }
+
+    public static CatalogFingerprint read(Path path) {
+        try {
+            JsonNode json = MAPPER.readTree(path.toFile());
+            SortedMap<Integer, Long> leaves = new TreeMap<>();
+            json.get("products").properties().forEach(entry ->
+                    leaves.put(Integer.valueOf(entry.getKey()), HexFormat.fromHexDigitsToLong(entry.getValue().asText())));
+            CatalogFingerprint fingerprint = new CatalogFingerprint(leaves);
+            if (!Objects.equals(fingerprint.root(), json.path("root").asText())) {
+                throw new IllegalStateException("Corrupt catalog fingerprint (root mismatch): " + path);
+            }
+            return fingerprint;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read catalog fingerprint: " + path, e);
+        }
+    }
+
+    private static List<long[]> buildLevels(long[] leafHashes) {
+        List<long[]> levels = new ArrayList<>();
+        levels.add(leafHashes);
+        long[] level = leafHashes;
+        while (level.length > 1) {
+            long[] parent = new long[(level.length + 1) / 2];
+            for (int i = 0; i < parent.length; i++) {
+                int left = i * 2;
+                // An unpaired node is promoted unchanged, so appending ids keeps existing subtrees stable
+                parent[i] = left + 1 < level.length ? hashPair(level[left], level[left + 1]) : level[left];
+            }
+            levels.add(parent);
+            level = parent;
+        }
+        return levels;
+    }
+
+    private static byte[] canonicalBytes(JsonNode product) {
+        try {
+            return CANONICAL.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize product for fingerprinting", e);
+        }
+    }
+
+    private static long hashPair(long left, long right) {
+        return hash(ByteBuffer.allocate(2 * Long.BYTES).putLong(left).putLong(right).array());
+    }
+
+    private static long hash(byte[] bytes) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(bytes)).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
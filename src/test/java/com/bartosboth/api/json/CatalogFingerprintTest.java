@@ -0,0 +1,124 @@
+package com.bartosboth.api.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CatalogFingerprintTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Property order does not change a product's hash")
+    public void testCanonicalHashing() {
+        ObjectNode product = product(1, "Backpack");
+        ObjectNode reordered = MAPPER.createObjectNode()
+                .put("price", product.get("price").doubleValue())
+                .put("title", "Backpack")
+                .put("id", 1);
+
+        assertThat(CatalogFingerprint.builder().add(product).build().root())
+                .isEqualTo(CatalogFingerprint.builder().add(reordered).build().root());
+    }
+
+    @Test
+    @DisplayName("With the same ids, the subtree walk names exactly the changed products")
+    public void testSameShapeDiff() {
+        // Odd sizes leave unpaired nodes that are promoted up the tree, which the walk must still reach
+        for (int size : new int[] {2, 7, 20, 33}) {
+            CatalogFingerprint before = fingerprint(size, Map.of());
+            CatalogFingerprint after = fingerprint(size, Map.of(1, "Changed", size, "Also changed"));
+
+            CatalogFingerprint.Diff diff = after.diff(before);
+
+            assertThat(diff.changed()).as("size %d", size).containsExactly(1, size);
+            assertThat(diff.added()).isEmpty();
+            assertThat(diff.removed()).isEmpty();
+            assertThat(after.diff(after).isEmpty()).isTrue();
+            assertThat(after.root()).isNotEqualTo(before.root());
+        }
+    }
+
+    @Test
+    @DisplayName("Different ids are reported as added, removed and changed")
+    public void testAddedAndRemoved() {
+        CatalogFingerprint before = build(IntStream.rangeClosed(1, 5), Map.of());
+        CatalogFingerprint after = build(IntStream.rangeClosed(2, 7), Map.of(4, "Changed"));
+
+        CatalogFingerprint.Diff diff = after.diff(before);
+
+        assertThat(diff.added()).containsExactly(6, 7);
+        assertThat(diff.removed()).containsExactly(1);
+        assertThat(diff.changed()).containsExactly(4);
+        assertThat(diff.toString()).isEqualTo("added=[6, 7] removed=[1] changed=[4]");
+    }
+
+    @Test
+    @DisplayName("A written fingerprint reads back with the same root and no differences")
+    public void testWriteAndRead() {
+        CatalogFingerprint fingerprint = fingerprint(20, Map.of());
+        Path path = directory.resolve("fingerprint.json");
+
+        fingerprint.write(path);
+        CatalogFingerprint read = CatalogFingerprint.read(path);
+
+        assertThat(read.root()).isEqualTo(fingerprint.root());
+        assertThat(read.size()).isEqualTo(20);
+        assertThat(fingerprint.diff(read).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A baseline whose products no longer hash to its root is rejected as corrupt")
+    public void testCorruptRootDetected() throws IOException {
+        Path path = directory.resolve("fingerprint.json");
+        fingerprint(20, Map.of()).write(path);
+        ObjectNode json = (ObjectNode) MAPPER.readTree(path.toFile());
+        ((ObjectNode) json.get("products")).put("7", "0000000000000000");
+        Files.write(path, MAPPER.writeValueAsBytes(json));
+
+        assertThatThrownBy(() -> CatalogFingerprint.read(path))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("root mismatch");
+    }
+
+    @Test
+    @DisplayName("Products without an id or with a duplicate id are rejected")
+    public void testInvalidProducts() {
+        assertThatThrownBy(() -> CatalogFingerprint.builder().add(MAPPER.createObjectNode().put("title", "No id")))
+                .isInstanceOf(AssertionError.class);
+        assertThatThrownBy(() -> CatalogFingerprint.builder().add(product(3, "A")).add(product(3, "B")))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Duplicate product id");
+    }
+
+    private static CatalogFingerprint fingerprint(int size, Map<Integer, String> titles) {
+        return build(IntStream.rangeClosed(1, size), titles);
+    }
+
+    private static CatalogFingerprint build(IntStream ids, Map<Integer, String> titles) {
+        CatalogFingerprint.Builder builder = CatalogFingerprint.builder();
+        ids.forEach(id -> builder.add(product(id, titles.getOrDefault(id, "Product " + id))));
+        return builder.build();
+    }
+
+    private static ObjectNode product(int id, String title) {
+        return MAPPER.createObjectNode()
+                .put("id", id)
+                .put("title", title)
+                .put("price", id * 1.5);
+    }
+}
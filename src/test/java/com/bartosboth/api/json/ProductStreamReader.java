@@ -0,0 +1,79 @@
+package com.bartosboth.api.json;
+
+import com.bartosboth.api.model.Product;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+public class ProductStreamReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final boolean validateSchema;
+
+    public ProductStreamReader(boolean validateSchema) {
+        this.validateSchema = validateSchema;
+    }
+
+    public long forEach(InputStream body, Consumer<StreamedProduct> visitor) {
+        return forEachJson(body, (json, index) -> {
+            Product product = toProduct(json);
+            try {
+                visitor.accept(new StreamedProduct(index, json, product));
+            } catch (AssertionError e) {
+                throw new AssertionError("Product at index " + index + " (id " + product.id() + ") failed: "
+                        + e.getMessage(), e);
+            }
+        });
+    }
+
+    /** Like {@link #forEach} but hands over the parsed tree only, without mapping it to {@link Product}. */
+    public long forEachJson(InputStream body, ObjLongConsumer<JsonNode> visitor) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new AssertionError("Expected a JSON array of products but got " + parser.currentToken());
+            }
+            long index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode json = parser.readValueAsTree();
+                if (validateSchema) {
+                    validate(index, json);
+                }
+                visitor.accept(json, index);
+                index++;
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new AssertionError("Expected product object at index " + index + " but got " + parser.currentToken());
+            }
+            if (validateSchema && index == 0) {
+                throw new AssertionError("Product array must contain at least one item");
+            }
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream products", e);
+        }
+    }
+
+    private static Product toProduct(JsonNode json) {
+        try {
+            return MAPPER.treeToValue(json, Product.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map product: " + json, e);
+        }
+    }
+
+    private static void validate(long index, JsonNode json) {
+        try {
+            SchemaRegistry.validate(SchemaRegistry.PRODUCT_SCHEMA, json);
+        } catch (AssertionError e) {
+            throw new AssertionError("Product at index " + index + ": " + e.getMessage(), e);
+        }
+    }
+}
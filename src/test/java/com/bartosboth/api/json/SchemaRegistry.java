@@ -0,0 +1,76 @@
+package com.bartosboth.api.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class SchemaRegistry {
+
+    public static final String PRODUCT_SCHEMA = "schemas/product-schema.json";
+    public static final String PRODUCTS_ARRAY_SCHEMA = "schemas/products-array-schema.json";
+    public static final String CATEGORIES_SCHEMA = "schemas/categories-schema.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+    private static final Map<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private SchemaRegistry() {
+    }
+
+    public static JsonSchema schema(String classpathPath) {
+        return SCHEMAS.computeIfAbsent(classpathPath, SchemaRegistry::compile);
+    }
+
+    public static void validate(String classpathPath, JsonNode json) {
+        ProcessingReport report;
+        try {
+            report = schema(classpathPath).validate(json);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Schema validation could not run against " + classpathPath, e);
+        }
+        if (!report.isSuccess()) {
+            throw new AssertionError("JSON does not match " + classpathPath + ":\n" + report);
+        }
+    }
+
+    public static JsonNode validate(String classpathPath, byte[] body) {
+        try {
+            JsonNode json = MAPPER.readTree(body);
+            validate(classpathPath, json);
+            return json;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse JSON for validation against " + classpathPath, e);
+        }
+    }
+
+    public static <T> T readValidated(byte[] body, String classpathPath, Class<T> type) {
+        return bind(validate(classpathPath, body), type);
+    }
+
+    /** Maps an already parsed and validated tree, without parsing the body again. */
+    public static <T> T bind(JsonNode json, Type type) {
+        try {
+            return MAPPER.treeToValue(json, MAPPER.constructType(type));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map JSON to " + type.getTypeName(), e);
+        }
+    }
+
+    private static JsonSchema compile(String classpathPath) {
+        // resource: URIs let relative $refs such as "product-schema.json" resolve next to the referring schema
+        try {
+            return FACTORY.getJsonSchema("resource:/" + classpathPath);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Failed to compile schema: " + classpathPath, e);
+        }
+    }
+}
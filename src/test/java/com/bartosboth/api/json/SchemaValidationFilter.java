@@ -0,0 +1,52 @@
+package com.bartosboth.api.json;
+
+import com.bartosboth.api.config.StreamedBody;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Objects;
+
+public class SchemaValidationFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        // Streamed bodies are left to the caller, which validates them item by item with ProductStreamReader
+        if (response.statusCode() >= 300 || StreamedBody.active()) {
+            return response;
+        }
+        JsonNode json = SchemaRegistry.validate(schemaFor(requestSpec.getMethod(), requestSpec.getUserDefinedPath()),
+                response.asByteArray());
+        // response.as(...) then maps the validated tree instead of parsing the body a second time
+        if (response instanceof RestAssuredResponseOptionsImpl<?> options) {
+            RestAssuredConfig config = Objects.requireNonNullElseGet(options.getConfig(), RestAssuredConfig::config);
+            options.setConfig(config.objectMapperConfig(config.getObjectMapperConfig()
+                    .defaultObjectMapper(new ValidatedTreeMapper(json))));
+        }
+        return response;
+    }
+
+    // Writes answer with the single product; reads are keyed by path template, with any inline query dropped
+    public static String schemaFor(String method, String path) {
+        if (!"GET".equals(method)) {
+            return SchemaRegistry.PRODUCT_SCHEMA;
+        }
+        int query = path.indexOf('?');
+        String template = query < 0 ? path : path.substring(0, query);
+        if ("/products/categories".equals(template)) {
+            return SchemaRegistry.CATEGORIES_SCHEMA;
+        }
+        if ("/products".equals(template) || template.startsWith("/products/category/")) {
+            return SchemaRegistry.PRODUCTS_ARRAY_SCHEMA;
+        }
+        return SchemaRegistry.PRODUCT_SCHEMA;
+    }
+}
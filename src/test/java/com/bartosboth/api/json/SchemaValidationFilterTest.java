@@ -0,0 +1,150 @@
+package com.bartosboth.api.json;
+
+import com.bartosboth.api.clients.ProductApiClient;
+import com.bartosboth.api.clients.ProductQuery;
+import com.bartosboth.api.config.ApiSpecs;
+import com.bartosboth.api.model.Category;
+import com.bartosboth.api.model.Product;
+import com.bartosboth.api.server.FakeStoreServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.bartosboth.api.config.StreamedBody;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SchemaValidationFilterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("Every endpoint is validated against its own schema")
+    public void testSchemaPerEndpoint() {
+        assertThat(SchemaValidationFilter.schemaFor("GET", "/products")).isEqualTo(SchemaRegistry.PRODUCTS_ARRAY_SCHEMA);
+        assertThat(SchemaValidationFilter.schemaFor("GET", "/products?limit=5")).isEqualTo(SchemaRegistry.PRODUCTS_ARRAY_SCHEMA);
+        assertThat(SchemaValidationFilter.schemaFor("GET", "/products/category/{category}"))
+                .isEqualTo(SchemaRegistry.PRODUCTS_ARRAY_SCHEMA);
+        assertThat(SchemaValidationFilter.schemaFor("GET", "/products/category/jewelery"))
+                .isEqualTo(SchemaRegistry.PRODUCTS_ARRAY_SCHEMA);
+        assertThat(SchemaValidationFilter.schemaFor("GET", "/products/categories")).isEqualTo(SchemaRegistry.CATEGORIES_SCHEMA);
+        assertThat(SchemaValidationFilter.schemaFor("GET", "/products/{id}")).isEqualTo(SchemaRegistry.PRODUCT_SCHEMA);
+        assertThat(SchemaValidationFilter.schemaFor("POST", "/products")).isEqualTo(SchemaRegistry.PRODUCT_SCHEMA);
+        assertThat(SchemaValidationFilter.schemaFor("PUT", "/products/{id}")).isEqualTo(SchemaRegistry.PRODUCT_SCHEMA);
+    }
+
+    @Test
+    @DisplayName("Every client read passes validation against FakeStoreServer")
+    public void testClientReadsValidate() {
+        ProductApiClient client = new ProductApiClient(validating(ApiSpecs.build(FakeStoreServer.shared().baseUrl())));
+
+        assertThat(client.getProducts().as(Product[].class)).isNotEmpty();
+        assertThat(client.getProducts(ProductQuery.first(5).sorted(ProductQuery.Sort.DESC)).as(Product[].class)).hasSize(5);
+        assertThat(client.getCategories().as(String[].class)).isNotEmpty();
+        for (Category category : Category.values()) {
+            assertThat(client.getProductsInCategory(category, ProductQuery.first(2)).as(Product[].class)).isNotEmpty();
+        }
+        assertThat(client.getProduct(1).as(Product.class).title()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("A body that does not match its endpoint's schema fails validation")
+    public void testMismatchFails() {
+        assertThatThrownBy(() -> SchemaRegistry.validate(SchemaRegistry.CATEGORIES_SCHEMA, "[\"a\", \"a\"]".getBytes()))
+                .isInstanceOf(AssertionError.class);
+        assertThatThrownBy(() -> SchemaRegistry.validate(SchemaRegistry.PRODUCT_SCHEMA, "[\"electronics\"]".getBytes()))
+                .isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    @DisplayName("response.as(...) maps the tree the filter validated instead of parsing the body again")
+    public void testBindsValidatedTree() {
+        Response response = given()
+                .baseUri(FakeStoreServer.shared().baseUrl())
+                .filter(new SchemaValidationFilter())
+                .get("/products/1");
+
+        assertThat(((RestAssuredResponseOptionsImpl<?>) response).getConfig().getObjectMapperConfig()
+                .defaultObjectMapper()).isInstanceOf(ValidatedTreeMapper.class);
+        Product product = response.as(Product.class);
+        assertThat(product).isEqualTo(SchemaRegistry.readValidated(response.asByteArray(),
+                SchemaRegistry.PRODUCT_SCHEMA, Product.class));
+        assertThat(product.rating()).isNotNull();
+
+        // The mapper is what as(...) uses: a body that disagrees with the tree is never read
+        Response built = new ResponseBuilder().setStatusCode(200).setContentType("application/json")
+                .setBody("{\"id\": 99, \"title\": \"From the body\"}").build();
+        RestAssuredResponseOptionsImpl<?> options = (RestAssuredResponseOptionsImpl<?>) built;
+        RestAssuredConfig config = RestAssuredConfig.config();
+        options.setConfig(config.objectMapperConfig(config.getObjectMapperConfig()
+                .defaultObjectMapper(new ValidatedTreeMapper(MAPPER.valueToTree(product)))));
+        assertThat(built.as(Product.class)).isEqualTo(product);
+    }
+
+    @Test
+    @DisplayName("Streamed responses are left unread for the caller, others are read by the filter")
+    public void testStreamedResponsesAreNotBuffered() throws IOException {
+        ReadCounter counter = new ReadCounter();
+        RequestSpecification request = given()
+                .baseUri(FakeStoreServer.shared().baseUrl())
+                .filter(new SchemaValidationFilter())
+                .filter(counter);
+
+        Response streamed = StreamedBody.call(() -> request.get("/products"));
+        assertThat(counter.read).as("bytes read by filters").hasValue(0);
+        try (InputStream body = streamed.asInputStream()) {
+            assertThat(new ProductStreamReader(true).forEach(body, product -> { })).isEqualTo(20);
+        }
+
+        counter.read.set(0);
+        request.get("/products");
+        assertThat(counter.read).as("bytes read by filters").hasPositiveValue();
+    }
+
+    // Innermost filter: counts body bytes read before the response reaches the caller
+    private static final class ReadCounter implements Filter {
+
+        private final AtomicLong read = new AtomicLong();
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                               FilterContext ctx) {
+            Response response = ctx.next(requestSpec, responseSpec);
+            InputStream counting = new FilterInputStream(response.asInputStream()) {
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int count = super.read(buffer, offset, length);
+                    read.addAndGet(Math.max(count, 0));
+                    return count;
+                }
+            };
+            return new ResponseBuilder().clone(response).setBody(counting).build();
+        }
+    }
+
+    private static ApiSpecs validating(ApiSpecs specs) {
+        RequestSpecification requestSpec = new RequestSpecBuilder()
+                .addRequestSpecification(specs.requestSpec())
+                .addFilter(new SchemaValidationFilter())
+                .build();
+        return new ApiSpecs(specs.baseUrl(), requestSpec, specs.createRequestSpec(), specs.updateRequestSpec(),
+                specs.successResponseSpec(), specs.createdResponseSpec(), specs.notFoundResponseSpec(),
+                specs.updateResponseSpec());
+    }
+}
@@ -0,0 +1,7 @@
+package com.bartosboth.api.json;
+
+import com.bartosboth.api.model.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+
+public record StreamedProduct(long index, JsonNode json, Product product) {
+}
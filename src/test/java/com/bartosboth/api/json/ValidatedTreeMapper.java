@@ -0,0 +1,26 @@
+package com.bartosboth.api.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+
+/** Binds {@code response.as(...)} from the tree {@link SchemaValidationFilter} already parsed and validated. */
+final class ValidatedTreeMapper implements ObjectMapper {
+
+    private final JsonNode json;
+
+    ValidatedTreeMapper(JsonNode json) {
+        this.json = json;
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        return SchemaRegistry.bind(json, context.getType());
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        throw new UnsupportedOperationException("Only maps the validated response body");
+    }
+}
@@ -0,0 +1,36 @@
+package com.bartosboth.api.limiter;
+
+import com.bartosboth.api.metrics.LatencyRegistry;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+public class AdaptiveLimitFilter implements Filter {
+
+    private final AdaptiveLimiter limiter;
+
+    public AdaptiveLimitFilter(AdaptiveLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String endpoint = requestSpec.getMethod() + " "
+                + LatencyRegistry.endpoint(requestSpec.getUserDefinedPath(), requestSpec.getQueryParams().keySet());
+        limiter.acquire();
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            limiter.release(endpoint, System.nanoTime() - start,
+                    response == null ? -1 : response.statusCode(),
+                    response == null ? null : RetryAfter.parse(response.header("Retry-After")));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.bartosboth.api.limiter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limiter. Each healthy response grows the limit by {@code 1/limit} (about one per round trip
+ * at full utilisation); a 429, 5xx, I/O failure or a latency above {@code latencyTolerance} times the endpoint's
+ * healthy baseline cuts it by {@code backoffRatio}, at most once per baseline round trip. Baselines are kept per
+ * endpoint, so a slow listing is not mistaken for a spike on a fast single-product read. A {@code Retry-After}
+ * header pauses every caller until it expires. The limit and throughput are sampled into {@link #history()}.
+ */
+public class AdaptiveLimiter {
+
+    private static final double BASELINE_ALPHA = 0.05;
+
+    private static volatile AdaptiveLimiter shared;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final long sampleNanos;
+    private final long startNanos = System.nanoTime();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final List<Sample> history = new ArrayList<>();
+
+    private double limit;
+    private int inFlight;
+    private long pausedUntilNanos;
+    private final Map<String, Double> baselineLatencyNanos = new HashMap<>();
+    private long lastDecreaseNanos;
+    private long windowStartNanos = startNanos;
+    private long windowCompleted;
+    private boolean windowBackedOff;
+
+    public record Sample(long elapsedMillis, int limit, int inFlight, double throughputPerSecond, boolean backedOff) {
+    }
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                           double latencyTolerance, Duration sampleInterval) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException(
+                    "Limits must satisfy 1 <= min <= initial <= max: " + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.sampleNanos = sampleInterval.toNanos();
+    }
+
+    public static AdaptiveLimiter shared() {
+        if (shared == null) {
+            synchronized (AdaptiveLimiter.class) {
+                if (shared == null) {
+                    shared = new AdaptiveLimiter(
+                            Integer.getInteger("limiter.initial", 4),
+                            Integer.getInteger("limiter.min", 1),
+                            Integer.getInteger("limiter.max", 256),
+                            Double.parseDouble(System.getProperty("limiter.backoffRatio", "0.5")),
+                            Double.parseDouble(System.getProperty("limiter.latencyTolerance", "2.0")),
+                            Duration.ofMillis(Long.getLong("limiter.sampleMillis", 1000)));
+                }
+            }
+        }
+        return shared;
+    }
+
+    public void acquire() {
+        lock.lock();
+        try {
+            while (true) {
+                long pause = pausedUntilNanos - System.nanoTime();
+                if (pause <= 0 && inFlight < (int) limit) {
+                    inFlight++;
+                    return;
+                }
+                // Wake up for the end of a Retry-After pause even if nothing is released
+                if (pause > 0) {
+                    available.awaitNanos(pause);
+                } else {
+                    available.awaitUninterruptibly();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrency permit", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit and adjusts the limit.
+     *
+     * @param endpoint the endpoint whose latency baseline applies, e.g. {@code GET /products/{id}}
+     * @param status the HTTP status, or {@code -1} if the request failed without a response
+     * @param retryAfter the parsed {@code Retry-After} header, or {@code null}
+     */
+    public void release(String endpoint, long latencyNanos, int status, Duration retryAfter) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            boolean wasSaturated = inFlight >= (int) limit;
+            inFlight--;
+            windowCompleted++;
+
+            if (retryAfter != null) {
+                pausedUntilNanos = Math.max(pausedUntilNanos, now + retryAfter.toNanos());
+            }
+            double baseline = baselineLatencyNanos.getOrDefault(endpoint, 0.0);
+            boolean overloaded = status < 0 || status == 429 || status >= 500;
+            boolean latencySpike = baseline > 0 && latencyNanos > baseline * latencyTolerance;
+            if (overloaded || latencySpike) {
+                if (now - lastDecreaseNanos > baseline) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                    windowBackedOff = true;
+                }
+            } else {
+                baselineLatencyNanos.put(endpoint, baseline == 0
+                        ? latencyNanos
+                        : baseline + BASELINE_ALPHA * (latencyNanos - baseline));
+                // Only grow when the current limit is actually the bottleneck
+                if (wasSaturated) {
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+
+            if (now - windowStartNanos >= sampleNanos) {
+                double seconds = (now - windowStartNanos) / 1e9;
+                history.add(new Sample(TimeUnit.NANOSECONDS.toMillis(now - startNanos), (int) limit, inFlight,
+                        windowCompleted / seconds, windowBackedOff));
+                windowStartNanos = now;
+                windowCompleted = 0;
+                windowBackedOff = false;
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Sample> history() {
+        lock.lock();
+        try {
+            return List.copyOf(history);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The best sampled throughput over windows in which the limiter did not have to back off. */
+    public Sample maxSustainable() {
+        Sample best = null;
+        for (Sample sample : history()) {
+            if (!sample.backedOff() && (best == null || sample.throughputPerSecond() > best.throughputPerSecond())) {
+                best = sample;
+            }
+        }
+        return best;
+    }
+
+    public String summary() {
+        Sample best = maxSustainable();
+        return String.format("Adaptive limit now=%d peak=%d, max sustainable %s",
+                limit(), history().stream().mapToInt(Sample::limit).max().orElse(limit()),
+                best == null ? "n/a" : String.format("%.1f req/s at limit %d", best.throughputPerSecond(), best.limit()));
+    }
+
+    public void writeHistory(Path path) {
+        List<String> lines = new ArrayList<>();
+        lines.add("elapsedMillis,limit,inFlight,throughputPerSecond,backedOff");
+        for (Sample sample : history()) {
+            lines.add(String.format("%d,%d,%d,%.2f,%s", sample.elapsedMillis(), sample.limit(), sample.inFlight(),
+                    sample.throughputPerSecond(), sample.backedOff()));
+        }
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.write(path, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write limiter history: " + path, e);
+        }
+    }
+}
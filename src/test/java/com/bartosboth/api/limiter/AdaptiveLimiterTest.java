@@ -0,0 +1,124 @@
+package com.bartosboth.api.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveLimiterTest {
+
+    private static final String FAST = "GET /products/{id}";
+    private static final String SLOW = "GET /products";
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Healthy responses grow the limit by about one per round trip, but only while it is saturated")
+    public void testAdditiveIncrease() {
+        AdaptiveLimiter limiter = limiter(4);
+
+        // Full utilisation: every completed request is replaced at once, so every release happens at the limit
+        int held = 0;
+        for (int i = 0; i < 20; i++) {
+            while (held < limiter.limit()) {
+                limiter.acquire();
+                held++;
+            }
+            limiter.release(FAST, MILLI, 200, null);
+            held--;
+        }
+        assertThat(limiter.limit()).as("4 + 1/limit per release, 20 times").isEqualTo(7);
+        while (held > 0) {
+            limiter.release(FAST, MILLI, 200, null);
+            held--;
+        }
+
+        int before = limiter.limit();
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire();
+            limiter.release(FAST, MILLI, 200, null);
+        }
+        assertThat(limiter.limit()).as("one request at a time never saturates the limit").isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("429, 5xx and failed requests cut the limit, at most once per baseline round trip")
+    public void testMultiplicativeDecrease() {
+        AdaptiveLimiter limiter = limiter(32);
+        limiter.acquire();
+        limiter.release(FAST, MILLI, 200, null);
+
+        limiter.acquire();
+        limiter.release(FAST, MILLI, 503, null);
+        assertThat(limiter.limit()).isEqualTo(16);
+
+        sleepMillis(5);
+        limiter.acquire();
+        limiter.release(FAST, MILLI, 429, null);
+        assertThat(limiter.limit()).isEqualTo(8);
+
+        sleepMillis(5);
+        limiter.acquire();
+        limiter.release(FAST, MILLI, -1, null);
+        assertThat(limiter.limit()).isEqualTo(4);
+
+        // A burst of failures from the same overload only counts once
+        AdaptiveLimiter debounced = limiter(32);
+        debounced.acquire();
+        debounced.release(SLOW, TimeUnit.SECONDS.toNanos(10), 200, null);
+        for (int i = 0; i < 5; i++) {
+            debounced.acquire();
+            debounced.release(SLOW, MILLI, 503, null);
+        }
+        assertThat(debounced.limit()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Latency spikes are judged against the endpoint's own baseline")
+    public void testPerEndpointBaseline() {
+        AdaptiveLimiter limiter = limiter(32);
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire();
+            limiter.release(FAST, MILLI, 200, null);
+            limiter.acquire();
+            limiter.release(SLOW, 200 * MILLI, 200, null);
+        }
+
+        limiter.acquire();
+        limiter.release(SLOW, 250 * MILLI, 200, null);
+        assertThat(limiter.limit()).as("normal for the listing").isEqualTo(32);
+
+        limiter.acquire();
+        limiter.release(FAST, 50 * MILLI, 200, null);
+        assertThat(limiter.limit()).as("50x the single-product baseline").isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Retry-After pauses every caller until it expires")
+    public void testRetryAfterPausesCallers() {
+        AdaptiveLimiter limiter = limiter(32);
+        limiter.acquire();
+        limiter.release(FAST, MILLI, 429, Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        CompletableFuture.runAsync(limiter::acquire).join();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(250));
+    }
+
+    private static AdaptiveLimiter limiter(int initialLimit) {
+        return new AdaptiveLimiter(initialLimit, 1, 256, 0.5, 2.0, Duration.ofHours(1));
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
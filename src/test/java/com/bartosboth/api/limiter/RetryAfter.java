@@ -0,0 +1,31 @@
+package com.bartosboth.api.limiter;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+public final class RetryAfter {
+
+    private RetryAfter() {
+    }
+
+    /** Parses a {@code Retry-After} value given either as delay-seconds or as an HTTP-date; {@code null} if absent or invalid. */
+    public static Duration parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException ignored) {
+            // Not delay-seconds, try HTTP-date
+        }
+        try {
+            Duration delay = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
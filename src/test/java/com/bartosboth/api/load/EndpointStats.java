@@ -0,0 +1,37 @@
+package com.bartosboth.api.load;
+
+import com.bartosboth.api.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    void recordSuccess(long latencyNanos) {
+        latency.recordNanos(latencyNanos);
+    }
+
+    void recordError(long latencyNanos) {
+        latency.recordNanos(latencyNanos);
+        errors.increment();
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public long requests() {
+        return latency.count();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors() / requests;
+    }
+}
@@ -0,0 +1,156 @@
+package com.bartosboth.api.load;
+
+import com.bartosboth.api.clients.ProductApiClient;
+import com.bartosboth.api.config.BlockingCalls;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver: requests are released on a fixed arrival schedule regardless of how many are still
+ * in flight, and each latency is measured from its scheduled start, so a stalled server shows up as queueing
+ * delay in the percentiles instead of silently lowering the offered load (coordinated omission).
+ * <p>
+ * Requests run on a {@link BlockingCalls} pool. Unless {@code -Dload.workers} fixes its size, the pool is sized by
+ * Little's law from the arrival rate and the latency of the request mix measured after warm-up, with headroom.
+ * A request that waits for a worker still counts that wait in its latency, and is reported as a late start when
+ * it began more than {@code -Dload.lateStartMillis} after its schedule, so an undersized pool is visible.
+ */
+public class LoadDriver {
+
+    /** {@code -Dload.workers}, or 0 to size the pool from the arrival rate and measured latency. */
+    public static final int DEFAULT_WORKERS = Integer.getInteger("load.workers", 0);
+    public static final Duration LATE_START = Duration.ofMillis(Long.getLong("load.lateStartMillis", 10));
+
+    static final int HEADROOM = 4;
+    static final int MIN_WORKERS = 8;
+    static final int MAX_WORKERS = 1024;
+    private static final int LATENCY_SAMPLES = 3;
+
+    private final ProductApiClient client;
+    private final int workers;
+
+    public LoadDriver(ProductApiClient client) {
+        this(client, DEFAULT_WORKERS);
+    }
+
+    /** {@code workers} of 0 sizes the pool from the profile when the run starts. */
+    public LoadDriver(ProductApiClient client, int workers) {
+        if (workers < 0) {
+            throw new IllegalArgumentException("Load workers must not be negative: " + workers);
+        }
+        this.client = client;
+        this.workers = workers;
+    }
+
+    public LoadResult run(LoadProfile profile) {
+        Map<LoadOperation, EndpointStats> endpoints = new EnumMap<>(LoadOperation.class);
+        profile.mix().forEach((operation, weight) -> {
+            if (weight > 0) {
+                endpoints.put(operation, new EndpointStats());
+            }
+        });
+        LoadOperation[] operations = endpoints.keySet().toArray(LoadOperation[]::new);
+        int[] cumulativeWeights = cumulativeWeights(profile.mix(), operations);
+        int totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+
+        // Warm-up so RestAssured/Groovy class loading does not land in the measured percentiles
+        for (LoadOperation operation : operations) {
+            operation.execute(client, 1, 0);
+        }
+        int poolSize = workers > 0 ? workers : workersFor(profile.arrivalRatePerSecond(),
+                expectedLatencyNanos(profile.mix(), operations));
+        long lateStartNanos = LATE_START.toNanos();
+        LongAdder lateStarts = new LongAdder();
+        LongAccumulator maxStartDelay = new LongAccumulator(Math::max, 0);
+
+        SplittableRandom random = new SplittableRandom(profile.seed());
+        long intervalNanos = (long) (1_000_000_000L / profile.arrivalRatePerSecond());
+        long start = System.nanoTime();
+        long end = start + profile.duration().toNanos();
+        long scheduled = 0;
+
+        try (ExecutorService users = BlockingCalls.newPool("load-worker", poolSize)) {
+            for (long intendedStart = start; intendedStart < end; intendedStart = start + scheduled * intervalNanos) {
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                LoadOperation operation = pick(operations, cumulativeWeights, random.nextInt(totalWeight));
+                int productId = random.nextInt(profile.maxProductId()) + 1;
+                EndpointStats stats = endpoints.get(operation);
+                long scheduledAt = intendedStart;
+                long sequence = scheduled;
+                users.execute(() -> {
+                    long startDelay = System.nanoTime() - scheduledAt;
+                    maxStartDelay.accumulate(startDelay);
+                    if (startDelay > lateStartNanos) {
+                        lateStarts.increment();
+                    }
+                    execute(operation, productId, sequence, scheduledAt, stats);
+                });
+                scheduled++;
+            }
+        }
+        return new LoadResult(Duration.ofNanos(System.nanoTime() - start), scheduled, endpoints, poolSize,
+                lateStarts.sum(), Duration.ofNanos(maxStartDelay.get()));
+    }
+
+    /** Little's law: requests in flight = arrival rate × latency, with headroom for latency rising under load. */
+    static int workersFor(double arrivalRatePerSecond, long latencyNanos) {
+        double inFlight = arrivalRatePerSecond * latencyNanos / 1_000_000_000.0;
+        return Math.clamp((long) Math.ceil(inFlight * HEADROOM), MIN_WORKERS, MAX_WORKERS);
+    }
+
+    // Mean over the mix of each operation's slowest warm call
+    private long expectedLatencyNanos(Map<LoadOperation, Integer> mix, LoadOperation[] operations) {
+        double weighted = 0;
+        int totalWeight = 0;
+        for (LoadOperation operation : operations) {
+            long slowest = 0;
+            for (int i = 0; i < LATENCY_SAMPLES; i++) {
+                long callStart = System.nanoTime();
+                operation.execute(client, 1, 0);
+                slowest = Math.max(slowest, System.nanoTime() - callStart);
+            }
+            weighted += (double) slowest * mix.get(operation);
+            totalWeight += mix.get(operation);
+        }
+        return (long) (weighted / totalWeight);
+    }
+
+    private void execute(LoadOperation operation, int productId, long sequence, long intendedStart,
+                         EndpointStats stats) {
+        try {
+            operation.execute(client, productId, sequence);
+            stats.recordSuccess(System.nanoTime() - intendedStart);
+        } catch (Throwable t) {
+            stats.recordError(System.nanoTime() - intendedStart);
+        }
+    }
+
+    private static int[] cumulativeWeights(Map<LoadOperation, Integer> mix, LoadOperation[] operations) {
+        int[] cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private static LoadOperation pick(LoadOperation[] operations, int[] cumulativeWeights, int roll) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
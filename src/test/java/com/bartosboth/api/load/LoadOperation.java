@@ -0,0 +1,79 @@
+package com.bartosboth.api.load;
+
+import com.bartosboth.api.clients.ProductApiClient;
+import com.bartosboth.api.clients.ProductQuery;
+import com.bartosboth.api.data.ProductTestDataFactory;
+import com.bartosboth.api.metrics.LatencyRegistry;
+import com.bartosboth.api.model.Category;
+
+public enum LoadOperation {
+
+    GET_PRODUCT("GET /products/{id}") {
+        @Override
+        void call(ProductApiClient client, int productId, long sequence) {
+            client.getProduct(productId);
+        }
+    },
+    GET_PRODUCTS("GET /products") {
+        @Override
+        void call(ProductApiClient client, int productId, long sequence) {
+            client.getProducts();
+        }
+    },
+    GET_PRODUCTS_PAGE("GET /products?limit") {
+        @Override
+        void call(ProductApiClient client, int productId, long sequence) {
+            client.getProducts(ProductQuery.first(PAGE_SIZE));
+        }
+    },
+    GET_CATEGORIES("GET /products/categories") {
+        @Override
+        void call(ProductApiClient client, int productId, long sequence) {
+            client.getCategories();
+        }
+    },
+    GET_CATEGORY("GET /products/category/{category}") {
+        @Override
+        void call(ProductApiClient client, int productId, long sequence) {
+            Category[] categories = Category.values();
+            client.getProductsInCategory(categories[(int) (sequence % categories.length)]);
+        }
+    },
+    CREATE_PRODUCT("POST /products") {
+        @Override
+        void call(ProductApiClient client, int productId, long sequence) {
+            client.createProduct(ProductTestDataFactory.syntheticProduct(sequence));
+        }
+    },
+    UPDATE_PRODUCT("PUT /products/{id}") {
+        @Override
+        void call(ProductApiClient client, int productId, long sequence) {
+            client.updateProduct(productId, ProductTestDataFactory.syntheticProduct(sequence));
+        }
+    },
+    DELETE_PRODUCT("DELETE /products/{id}") {
+        @Override
+        void call(ProductApiClient client, int productId, long sequence) {
+            client.deleteProduct(productId);
+        }
+    };
+
+    static final int PAGE_SIZE = 5;
+
+    private final String endpoint;
+
+    LoadOperation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    /** Runs the operation with its latency kept out of the functional histograms the latency gate reads. */
+    void execute(ProductApiClient client, int productId, long sequence) {
+        LatencyRegistry.inScope(LatencyRegistry.LOAD, () -> call(client, productId, sequence));
+    }
+
+    abstract void call(ProductApiClient client, int productId, long sequence);
+}
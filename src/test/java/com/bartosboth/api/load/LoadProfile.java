@@ -0,0 +1,56 @@
+package com.bartosboth.api.load;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public record LoadProfile(
+        double arrivalRatePerSecond,
+        Duration duration,
+        Map<LoadOperation, Integer> mix,
+        int maxProductId,
+        long seed
+) {
+
+    public static final String DEFAULT_MIX = "GET_PRODUCT=60,GET_PRODUCTS_PAGE=10,GET_CATEGORY=10,GET_PRODUCTS=10,CREATE_PRODUCT=10";
+
+    public LoadProfile {
+        if (arrivalRatePerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + arrivalRatePerSecond);
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+        if (mix.isEmpty() || mix.values().stream().anyMatch(weight -> weight < 0)
+                || mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Request mix needs at least one positive weight: " + mix);
+        }
+        if (maxProductId < 1) {
+            throw new IllegalArgumentException("Max product id must be at least 1: " + maxProductId);
+        }
+        mix = Collections.unmodifiableMap(new EnumMap<>(mix));
+    }
+
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Double.parseDouble(System.getProperty("load.rate", "25")),
+                Duration.ofSeconds(Long.getLong("load.durationSeconds", 5)),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+                Integer.getInteger("load.maxProductId", 20),
+                Long.getLong("load.seed", 42)
+        );
+    }
+
+    public static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected OPERATION=weight");
+            }
+            weights.put(LoadOperation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
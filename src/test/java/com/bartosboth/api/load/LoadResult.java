@@ -0,0 +1,40 @@
+package com.bartosboth.api.load;
+
+import java.time.Duration;
+import java.util.Map;
+
+public record LoadResult(Duration elapsed, long scheduled, Map<LoadOperation, EndpointStats> endpoints, int workers,
+                         long lateStarts, Duration maxStartDelay) {
+
+    public long requests() {
+        return endpoints.values().stream().mapToLong(EndpointStats::requests).sum();
+    }
+
+    public long errors() {
+        return endpoints.values().stream().mapToLong(EndpointStats::errors).sum();
+    }
+
+    public double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors() / requests;
+    }
+
+    public double throughputPerSecond() {
+        return requests() / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "Load run: %d requests in %.1fs (%.1f req/s), %d errors (%.2f%%)%n",
+                requests(), elapsed.toMillis() / 1000.0, throughputPerSecond(), errors(), errorRate() * 100));
+        summary.append(String.format("   %d workers, %d late starts (over %dms after schedule), max start delay %.2fms%n",
+                workers, lateStarts, LoadDriver.LATE_START.toMillis(), maxStartDelay.toNanos() / 1_000_000.0));
+        endpoints.forEach((operation, stats) -> summary.append(String.format(
+                "   - %-34s n=%-7d err=%-5d p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                operation.endpoint(), stats.requests(), stats.errors(),
+                stats.latency().percentileMillis(50), stats.latency().percentileMillis(90),
+                stats.latency().percentileMillis(99), stats.latency().percentileMillis(99.9),
+                stats.latency().maxMicros() / 1000.0)));
+        return summary.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.bartosboth.api.load;
+
+import com.bartosboth.api.clients.ProductApiClient;
+import com.bartosboth.api.metrics.ApiCallEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop soak driver: each worker repeats the create/read/list/update/delete workflow until the duration
+ * ends, while a JFR recording (kept on disk for {@code maxAge}) and a live event stream capture the run.
+ */
+public class SoakRunner {
+
+    private static final List<LoadOperation> WORKFLOW = List.of(
+            LoadOperation.CREATE_PRODUCT,
+            LoadOperation.GET_PRODUCT,
+            LoadOperation.GET_PRODUCTS,
+            LoadOperation.UPDATE_PRODUCT,
+            LoadOperation.DELETE_PRODUCT);
+
+    private final ProductApiClient client;
+    private final int maxProductId;
+
+    public SoakRunner(ProductApiClient client, int maxProductId) {
+        this.client = client;
+        this.maxProductId = maxProductId;
+    }
+
+    public SoakSummary run(Duration duration, int workers, Path recordingPath, Duration maxAge) {
+        SoakSummary summary = new SoakSummary();
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"));
+             RecordingStream stream = new RecordingStream()) {
+            Files.createDirectories(recordingPath.toAbsolutePath().getParent());
+            recording.enable(ApiCallEvent.NAME);
+            recording.setToDisk(true);
+            recording.setMaxAge(maxAge);
+            recording.setDestination(recordingPath);
+
+            stream.enable(ApiCallEvent.NAME);
+            stream.enable("jdk.GarbageCollection");
+            stream.enable("jdk.GCHeapSummary");
+            stream.onEvent(ApiCallEvent.NAME, summary::onApiCall);
+            stream.onEvent("jdk.GarbageCollection", summary::onGarbageCollection);
+            stream.onEvent("jdk.GCHeapSummary", summary::onHeapSummary);
+
+            recording.start();
+            stream.startAsync();
+            long start = System.nanoTime();
+            long end = start + duration.toNanos();
+            AtomicLong sequence = new AtomicLong();
+            LongAdder errors = new LongAdder();
+            // Platform threads: per-thread allocation counters are not available for virtual threads
+            try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+                for (int worker = 0; worker < workers; worker++) {
+                    executor.execute(() -> {
+                        while (System.nanoTime() < end) {
+                            runWorkflow(sequence.getAndIncrement(), errors);
+                        }
+                    });
+                }
+            }
+            // stop() flushes, so every event of the run reaches the summary before it is read
+            stream.stop();
+            recording.stop();
+            summary.finish(Duration.ofNanos(System.nanoTime() - start), sequence.get(), errors.sum());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record soak run to " + recordingPath, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Failed to load the default JFR configuration", e);
+        }
+        return summary;
+    }
+
+    private void runWorkflow(long sequence, LongAdder errors) {
+        int productId = (int) (sequence % maxProductId) + 1;
+        for (LoadOperation operation : WORKFLOW) {
+            try {
+                operation.execute(client, productId, sequence);
+            } catch (Throwable t) {
+                errors.increment();
+            }
+        }
+    }
+}
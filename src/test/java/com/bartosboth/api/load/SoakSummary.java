@@ -0,0 +1,184 @@
+package com.bartosboth.api.load;
+
+import com.bartosboth.api.metrics.LatencyHistogram;
+import jdk.jfr.consumer.RecordedEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+/** Aggregates the JFR events of a soak run: per-endpoint allocation and GC time, plus GC pauses and heap trend. */
+public class SoakSummary {
+
+    private static final double MB = 1024.0 * 1024.0;
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    /** Below this span of post-GC samples, warm-up and GC timing noise swamp any real growth. */
+    static final Duration MIN_HEAP_WINDOW = Duration.ofMinutes(Long.getLong("soak.minHeapWindowMinutes", 10));
+    static final int MIN_HEAP_SAMPLES = 5;
+
+    private final Map<String, Endpoint> endpoints = new TreeMap<>();
+    private Duration elapsed = Duration.ZERO;
+    private long iterations;
+    private long workflowErrors;
+    private long gcCount;
+    private Duration gcPauseTotal = Duration.ZERO;
+    private Duration gcPauseLongest = Duration.ZERO;
+    private final List<HeapSample> heapAfterGc = new ArrayList<>();
+    private long maxHeapUsed;
+
+    private record HeapSample(Instant at, long used) {
+    }
+
+    public static final class Endpoint {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long errors;
+        private long responseBytes;
+        private long allocatedBytes;
+        private long gcMillis;
+
+        public long calls() {
+            return latency.count();
+        }
+
+        public long errors() {
+            return errors;
+        }
+
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long gcMillis() {
+            return gcMillis;
+        }
+
+        public LatencyHistogram latency() {
+            return latency;
+        }
+    }
+
+    synchronized void onApiCall(RecordedEvent event) {
+        Endpoint endpoint = endpoints.computeIfAbsent(event.getString("endpoint"), key -> new Endpoint());
+        endpoint.latency.recordNanos(event.getDuration().toNanos());
+        int status = event.getInt("status");
+        if (status < 0 || status >= 400) {
+            endpoint.errors++;
+        }
+        endpoint.responseBytes += Math.max(0, event.getLong("responseBytes"));
+        endpoint.allocatedBytes += Math.max(0, event.getLong("allocatedBytes"));
+        endpoint.gcMillis += event.getLong("gcMillis");
+    }
+
+    synchronized void onGarbageCollection(RecordedEvent event) {
+        gcCount++;
+        gcPauseTotal = gcPauseTotal.plus(event.getDuration("sumOfPauses"));
+        Duration longest = event.getDuration("longestPause");
+        if (longest.compareTo(gcPauseLongest) > 0) {
+            gcPauseLongest = longest;
+        }
+    }
+
+    synchronized void onHeapSummary(RecordedEvent event) {
+        if ("After GC".equals(event.getString("when"))) {
+            recordHeapAfterGc(event.getStartTime(), event.getLong("heapUsed"));
+        }
+    }
+
+    synchronized void recordHeapAfterGc(Instant at, long heapUsed) {
+        heapAfterGc.add(new HeapSample(at, heapUsed));
+        maxHeapUsed = Math.max(maxHeapUsed, heapUsed);
+    }
+
+    synchronized void finish(Duration elapsed, long iterations, long workflowErrors) {
+        this.elapsed = elapsed;
+        this.iterations = iterations;
+        this.workflowErrors = workflowErrors;
+    }
+
+    public synchronized Map<String, Endpoint> endpoints() {
+        return Map.copyOf(endpoints);
+    }
+
+    public synchronized long workflowErrors() {
+        return workflowErrors;
+    }
+
+    /**
+     * Post-GC heap growth from a least-squares fit over every post-GC sample, in MB per hour. Empty until at least
+     * {@link #MIN_HEAP_SAMPLES} samples span {@link #MIN_HEAP_WINDOW}, since a few seconds of samples extrapolate
+     * warm-up into a leak.
+     */
+    public synchronized OptionalDouble heapGrowthMbPerHour() {
+        if (heapAfterGc.size() < MIN_HEAP_SAMPLES || heapWindow().compareTo(MIN_HEAP_WINDOW) < 0) {
+            return OptionalDouble.empty();
+        }
+        Instant origin = heapAfterGc.getFirst().at();
+        double meanX = 0;
+        double meanY = 0;
+        for (HeapSample sample : heapAfterGc) {
+            meanX += Duration.between(origin, sample.at()).toMillis();
+            meanY += sample.used();
+        }
+        meanX /= heapAfterGc.size();
+        meanY /= heapAfterGc.size();
+        double covariance = 0;
+        double variance = 0;
+        for (HeapSample sample : heapAfterGc) {
+            double dx = Duration.between(origin, sample.at()).toMillis() - meanX;
+            covariance += dx * (sample.used() - meanY);
+            variance += dx * dx;
+        }
+        return OptionalDouble.of(covariance / variance / MB * MILLIS_PER_HOUR);
+    }
+
+    private Duration heapWindow() {
+        return heapAfterGc.isEmpty()
+                ? Duration.ZERO
+                : Duration.between(heapAfterGc.getFirst().at(), heapAfterGc.getLast().at());
+    }
+
+    public synchronized String report() {
+        double seconds = Math.max(1, elapsed.toMillis()) / 1000.0;
+        StringBuilder report = new StringBuilder(String.format(
+                "Soak run: %d workflow iterations in %.1fs, %d errors%n", iterations, seconds, workflowErrors));
+        endpoints.forEach((name, endpoint) -> report.append(String.format(
+                "   - %-34s n=%-7d err=%-5d alloc=%.1fKB/call (%.2fMB/s) gc=%dms resp=%.1fKB/call p50=%.2fms p99=%.2fms%n",
+                name, endpoint.calls(), endpoint.errors,
+                endpoint.allocatedBytes / 1024.0 / Math.max(1, endpoint.calls()), endpoint.allocatedBytes / MB / seconds,
+                endpoint.gcMillis, endpoint.responseBytes / 1024.0 / Math.max(1, endpoint.calls()),
+                endpoint.latency.percentileMillis(50), endpoint.latency.percentileMillis(99))));
+        report.append(String.format("GC: %d collections, %dms total pause (%.2f%% of run), longest %dms%n",
+                gcCount, gcPauseTotal.toMillis(), gcPauseTotal.toMillis() / 10.0 / seconds, gcPauseLongest.toMillis()));
+        if (heapAfterGc.isEmpty()) {
+            report.append(String.format("Heap after GC: no collections observed%n"));
+        } else {
+            OptionalDouble growth = heapGrowthMbPerHour();
+            report.append(String.format("Heap after GC: %.1fMB -> %.1fMB (max %.1fMB), growth %s%n",
+                    heapAfterGc.getFirst().used() / MB, heapAfterGc.getLast().used() / MB, maxHeapUsed / MB,
+                    growth.isPresent()
+                            ? String.format("%.1fMB/h over %d samples", growth.getAsDouble(), heapAfterGc.size())
+                            : String.format("n/a (%d samples over %ds, need %d over %ds)", heapAfterGc.size(),
+                                    heapWindow().toSeconds(), MIN_HEAP_SAMPLES, MIN_HEAP_WINDOW.toSeconds())));
+        }
+        return report.toString();
+    }
+
+    public void write(Path path) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.writeString(path, report());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write soak summary: " + path, e);
+        }
+    }
+}
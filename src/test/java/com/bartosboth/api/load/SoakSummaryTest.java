@@ -0,0 +1,63 @@
+package com.bartosboth.api.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class SoakSummaryTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("Heap growth is not reported from a few seconds of samples")
+    public void testShortWindowIsNotExtrapolated() {
+        SoakSummary summary = new SoakSummary();
+        // 20MB in 10s would extrapolate to 7GB/h
+        for (int second = 0; second <= 10; second++) {
+            summary.recordHeapAfterGc(START.plusSeconds(second), 100 * MB + second * 2 * MB);
+        }
+
+        assertThat(summary.heapGrowthMbPerHour()).isEmpty();
+        assertThat(summary.report()).contains("growth n/a (11 samples over 10s");
+    }
+
+    @Test
+    @DisplayName("Too few samples are not reported even over a long window")
+    public void testTooFewSamples() {
+        SoakSummary summary = new SoakSummary();
+        summary.recordHeapAfterGc(START, 100 * MB);
+        summary.recordHeapAfterGc(START.plus(SoakSummary.MIN_HEAP_WINDOW), 200 * MB);
+
+        assertThat(summary.heapGrowthMbPerHour()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("The fit follows the trend across post-GC samples, not the first and last one")
+    public void testFitIgnoresNoisyEndpoints() {
+        SoakSummary summary = new SoakSummary();
+        Duration step = SoakSummary.MIN_HEAP_WINDOW.dividedBy(10);
+        for (int i = 0; i <= 10; i++) {
+            // Flat at 100MB, with a low first sample and a high last one
+            long noise = i == 0 ? -40 * MB : i == 10 ? 40 * MB : (i % 2 == 0 ? MB : -MB);
+            summary.recordHeapAfterGc(START.plus(step.multipliedBy(i)), 100 * MB + noise);
+        }
+        double hours = SoakSummary.MIN_HEAP_WINDOW.toMillis() / 3_600_000.0;
+
+        assertThat(summary.heapGrowthMbPerHour()).isPresent();
+        assertThat(summary.heapGrowthMbPerHour().getAsDouble())
+                .as("first-to-last would say %.0fMB/h", 80 / hours)
+                .isLessThan(80 / hours / 2);
+
+        SoakSummary leaking = new SoakSummary();
+        for (int i = 0; i <= 10; i++) {
+            leaking.recordHeapAfterGc(START.plus(step.multipliedBy(i)), 100 * MB + i * MB);
+        }
+        assertThat(leaking.heapGrowthMbPerHour().getAsDouble()).isCloseTo(10 / hours, within(0.01));
+    }
+}
@@ -0,0 +1,40 @@
+package com.bartosboth.api.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name(ApiCallEvent.NAME)
+@Label("API Call")
+@Category({"API Tests", "HTTP"})
+@Description("One HTTP request made through the shared RestAssured specs")
+@StackTrace(false)
+public class ApiCallEvent extends Event {
+
+    public static final String NAME = "com.bartosboth.api.ApiCall";
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the calling thread during the request")
+    @DataAmount
+    public long allocatedBytes;
+
+    @Label("GC Time")
+    @Description("Time spent in garbage collection while the request was in flight")
+    @Timespan(Timespan.MILLISECONDS)
+    public long gcMillis;
+}
@@ -0,0 +1,66 @@
+package com.bartosboth.api.metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/** Emits an {@link ApiCallEvent} per request while a JFR recording has the event enabled; a no-op otherwise. */
+public class ApiCallEventFilter implements Filter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ApiCallEvent event = new ApiCallEvent();
+        if (!event.isEnabled()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        event.endpoint = requestSpec.getMethod() + " " + LatencyRecordingFilter.endpointPath(requestSpec);
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long gcBefore = gcMillis();
+        event.begin();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.status = response == null ? -1 : response.statusCode();
+                // Content-Length rather than the body, so streamed responses are not buffered to be measured
+                event.responseBytes = response == null ? 0 : contentLength(response);
+                // -1 when the JVM cannot measure this thread, e.g. a virtual thread
+                event.allocatedBytes = allocatedBefore < 0 ? -1 : THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                event.gcMillis = gcMillis() - gcBefore;
+                event.commit();
+            }
+        }
+    }
+
+    private static long contentLength(Response response) {
+        String header = response.header("Content-Length");
+        try {
+            return header == null ? -1 : Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
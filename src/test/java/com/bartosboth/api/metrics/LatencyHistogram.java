@@ -0,0 +1,126 @@
+package com.bartosboth.api.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram in the style of HdrHistogram. Values are recorded in microseconds: exactly below
+ * 256, then in 128 linear sub-buckets per power of two, so a bucket is never wider than 1/128 of its values and
+ * the relative error of any percentile stays below 0.8%.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+
+    public void recordNanos(long nanos) {
+        record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalMicros.add(value);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalMicros.add(other.totalMicros.sum());
+    }
+
+    public Snapshot snapshot() {
+        Map<Integer, Long> buckets = new TreeMap<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                buckets.put(i, count);
+            }
+        }
+        return new Snapshot(totalMicros.sum(), buckets);
+    }
+
+    public static LatencyHistogram from(Snapshot snapshot) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        snapshot.buckets().forEach((index, count) -> {
+            histogram.counts.addAndGet(index, count);
+            histogram.totalCount.add(count);
+        });
+        histogram.totalMicros.add(snapshot.totalMicros());
+        return histogram;
+    }
+
+    public long count() {
+        return totalCount.sum();
+    }
+
+    public double meanMicros() {
+        long count = count();
+        return count == 0 ? 0 : (double) totalMicros.sum() / count;
+    }
+
+    public long percentileMicros(double percentile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return highestValueAt(i);
+            }
+        }
+        return maxMicros();
+    }
+
+    public long maxMicros() {
+        for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) {
+                return highestValueAt(i);
+            }
+        }
+        return 0;
+    }
+
+    public double percentileMillis(double percentile) {
+        return percentileMicros(percentile) / 1000.0;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return exponent * SUB_BUCKET_HALF + (int) (value >>> exponent);
+    }
+
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << exponent) - 1;
+    }
+
+    /** Sparse, serializable form: non-empty bucket counts by index, so histograms can be merged across JVMs. */
+    public record Snapshot(long totalMicros, Map<Integer, Long> buckets) {
+    }
+}
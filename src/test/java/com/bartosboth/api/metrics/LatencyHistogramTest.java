@@ -0,0 +1,62 @@
+package com.bartosboth.api.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Every value falls inside its bucket, and buckets are at most 1/128 of their values wide")
+    public void testBucketBoundaries() {
+        LongStream values = LongStream.concat(
+                LongStream.rangeClosed(0, 100_000),
+                LongStream.rangeClosed(8, 62).flatMap(bit -> LongStream.of((1L << bit) - 1, 1L << bit, (1L << bit) + 1)));
+        values.forEach(value -> {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestValueAt(index);
+            long lowest = index == 0 ? 0 : LatencyHistogram.highestValueAt(index - 1) + 1;
+            assertThat(value).as("bucket %d", index).isBetween(lowest, highest);
+            assertThat((double) (highest - lowest)).as("width of bucket %d", index).isLessThanOrEqualTo(value / 128.0);
+        });
+        assertThat(LatencyHistogram.indexOf(Long.MAX_VALUE)).isGreaterThan(LatencyHistogram.indexOf(1L << 62));
+    }
+
+    @Test
+    @DisplayName("Percentiles of a uniform distribution are within 1% of the exact value")
+    public void testPercentileAccuracy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1_000_000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertThat(histogram.count()).isEqualTo(1_000_000);
+        for (int percentile : new int[]{50, 90, 99}) {
+            double exact = percentile * 10_000.0;
+            assertThat((double) histogram.percentileMicros(percentile)).as("p%d", percentile)
+                    .isCloseTo(exact, within(exact * 0.01));
+        }
+        assertThat(histogram.maxMicros()).isBetween(1_000_000L, 1_010_000L);
+        assertThat(histogram.meanMicros()).isCloseTo(500_000.5, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Snapshots round-trip and merge without losing counts")
+    public void testSnapshotRoundTrip() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        LongStream.rangeClosed(1, 500).forEach(first::record);
+        LongStream.rangeClosed(501, 1_000).forEach(second::record);
+
+        LatencyHistogram merged = LatencyHistogram.from(first.snapshot());
+        merged.add(LatencyHistogram.from(second.snapshot()));
+
+        assertThat(merged.count()).isEqualTo(1_000);
+        assertThat(merged.meanMicros()).isEqualTo(500.5);
+        assertThat(merged.percentileMicros(50)).isBetween(500L, 503L);
+    }
+}
@@ -0,0 +1,26 @@
+package com.bartosboth.api.metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+public class LatencyRecordingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            LatencyRegistry.recordNanos(requestSpec.getMethod(), endpointPath(requestSpec), System.nanoTime() - start);
+        }
+    }
+
+    static String endpointPath(FilterableRequestSpecification requestSpec) {
+        return LatencyRegistry.endpoint(requestSpec.getUserDefinedPath(), requestSpec.getQueryParams().keySet());
+    }
+}
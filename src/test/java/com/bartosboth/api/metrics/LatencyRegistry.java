@@ -0,0 +1,87 @@
+package com.bartosboth.api.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint latency histograms, kept apart by scope. Functional tests record into {@link #FUNCTIONAL}, which
+ * the latency report and baseline gate read; load and soak runs record into {@link #LOAD}, so their saturated
+ * latencies neither gate the build nor drift the baseline. The scope is thread-local, like the filters that record.
+ */
+public final class LatencyRegistry {
+
+    public static final String FUNCTIONAL = "functional";
+    public static final String LOAD = "load";
+
+    private static final Map<String, Map<String, LatencyHistogram>> SCOPES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> SCOPE = ThreadLocal.withInitial(() -> FUNCTIONAL);
+
+    private LatencyRegistry() {
+    }
+
+    /** Query parameter names (not values) are part of the endpoint: ?limit=5 is a different workload than the catalog. */
+    public static String endpoint(String pathTemplate, Collection<String> queryParamNames) {
+        if (queryParamNames.isEmpty()) {
+            return pathTemplate;
+        }
+        return pathTemplate + "?" + String.join("&", new TreeSet<>(queryParamNames));
+    }
+
+    /** Runs {@code call} on this thread with its latencies recorded under {@code scope}. */
+    public static void inScope(String scope, Runnable call) {
+        String previous = SCOPE.get();
+        SCOPE.set(scope);
+        try {
+            call.run();
+        } finally {
+            SCOPE.set(previous);
+        }
+    }
+
+    /** Wraps {@code call} to run in this thread's scope on whichever thread executes it. */
+    public static <T> Callable<T> inCurrentScope(Callable<T> call) {
+        String scope = SCOPE.get();
+        return () -> {
+            String previous = SCOPE.get();
+            SCOPE.set(scope);
+            try {
+                return call.call();
+            } finally {
+                SCOPE.set(previous);
+            }
+        };
+    }
+
+    public static LatencyHistogram histogram(String method, String path) {
+        return histograms(SCOPE.get()).computeIfAbsent(method + " " + path, key -> new LatencyHistogram());
+    }
+
+    public static LatencyHistogram find(String method, String path) {
+        return histograms(SCOPE.get()).get(method + " " + path);
+    }
+
+    public static void recordNanos(String method, String path, long nanos) {
+        histogram(method, path).recordNanos(nanos);
+    }
+
+    /** The functional histograms, which the report and gate cover. */
+    public static Map<String, LatencyHistogram> snapshot() {
+        return snapshot(FUNCTIONAL);
+    }
+
+    public static Map<String, LatencyHistogram> snapshot(String scope) {
+        return new TreeMap<>(histograms(scope));
+    }
+
+    public static void reset() {
+        SCOPES.clear();
+    }
+
+    private static Map<String, LatencyHistogram> histograms(String scope) {
+        return SCOPES.computeIfAbsent(scope, key -> new ConcurrentHashMap<>());
+    }
+}
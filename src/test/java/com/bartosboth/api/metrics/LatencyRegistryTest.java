@@ -0,0 +1,50 @@
+package com.bartosboth.api.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyRegistryTest {
+
+    @Test
+    @DisplayName("Load samples stay out of the functional histograms the gate reads")
+    public void testLoadScopeIsSeparate() {
+        String path = "/registry-test/load";
+
+        LatencyRegistry.inScope(LatencyRegistry.LOAD, () -> LatencyRegistry.recordNanos("GET", path, 1_000_000));
+
+        assertThat(LatencyRegistry.snapshot(LatencyRegistry.LOAD)).containsKey("GET " + path);
+        assertThat(LatencyRegistry.snapshot()).doesNotContainKey("GET " + path);
+        assertThat(LatencyRegistry.find("GET", path)).isNull();
+    }
+
+    @Test
+    @DisplayName("A task handed to another thread records in the scope it was created in")
+    public void testScopeFollowsTask() throws Exception {
+        String path = "/registry-test/hedge";
+        CompletableFuture<Void> recorded = new CompletableFuture<>();
+
+        LatencyRegistry.inScope(LatencyRegistry.LOAD, () -> {
+            var task = LatencyRegistry.inCurrentScope(() -> {
+                LatencyRegistry.recordNanos("GET", path, 2_000_000);
+                return null;
+            });
+            Thread.ofPlatform().start(() -> {
+                try {
+                    task.call();
+                    recorded.complete(null);
+                } catch (Exception e) {
+                    recorded.completeExceptionally(e);
+                }
+            });
+        });
+        recorded.get(10, TimeUnit.SECONDS);
+
+        assertThat(LatencyRegistry.snapshot(LatencyRegistry.LOAD).get("GET " + path).count()).isEqualTo(1);
+        assertThat(LatencyRegistry.snapshot()).doesNotContainKey("GET " + path);
+    }
+}
@@ -0,0 +1,122 @@
+package com.bartosboth.api.metrics;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public record LatencyReport(Map<String, EndpointLatency> endpoints) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public record EndpointLatency(long count, long p50, long p95, long p99, long max) {
+
+        static EndpointLatency of(LatencyHistogram histogram) {
+            return new EndpointLatency(
+                    histogram.count(),
+                    histogram.percentileMicros(50),
+                    histogram.percentileMicros(95),
+                    histogram.percentileMicros(99),
+                    histogram.maxMicros());
+        }
+
+        long percentile(int percentile) {
+            return switch (percentile) {
+                case 50 -> p50;
+                case 95 -> p95;
+                case 99 -> p99;
+                default -> throw new IllegalArgumentException("Unsupported percentile: p" + percentile);
+            };
+        }
+    }
+
+    public static LatencyReport of(Map<String, LatencyHistogram> histograms) {
+        Map<String, EndpointLatency> endpoints = new TreeMap<>();
+        histograms.forEach((endpoint, histogram) -> endpoints.put(endpoint, EndpointLatency.of(histogram)));
+        return new LatencyReport(endpoints);
+    }
+
+    public static LatencyReport read(Path path) {
+        try {
+            return MAPPER.readValue(path.toFile(), LatencyReport.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read latency report: " + path, e);
+        }
+    }
+
+    public void write(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            MAPPER.writeValue(path.toFile(), this);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write latency report: " + path, e);
+        }
+    }
+
+    public static void writeHistograms(Map<String, LatencyHistogram> histograms, Path path) {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        histograms.forEach((endpoint, histogram) -> snapshots.put(endpoint, histogram.snapshot()));
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            MAPPER.writeValue(path.toFile(), snapshots);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write latency histograms: " + path, e);
+        }
+    }
+
+    public static Map<String, LatencyHistogram> readHistograms(Path path) {
+        try {
+            Map<String, LatencyHistogram.Snapshot> snapshots = MAPPER.readValue(path.toFile(), new TypeReference<>() {
+            });
+            Map<String, LatencyHistogram> histograms = new TreeMap<>();
+            snapshots.forEach((endpoint, snapshot) -> histograms.put(endpoint, LatencyHistogram.from(snapshot)));
+            return histograms;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read latency histograms: " + path, e);
+        }
+    }
+
+    public List<String> sloViolations(SloThresholds thresholds) {
+        List<String> violations = new ArrayList<>();
+        endpoints.forEach((endpoint, latency) -> {
+            for (int percentile : SloThresholds.PERCENTILES) {
+                long limitMillis = thresholds.limitMillis(endpoint, percentile);
+                if (latency.percentile(percentile) > limitMillis * 1000) {
+                    violations.add(String.format("%s p%d %.1fms exceeds SLO %dms",
+                            endpoint, percentile, latency.percentile(percentile) / 1000.0, limitMillis));
+                }
+            }
+        });
+        return violations;
+    }
+
+    public List<String> regressionsAgainst(LatencyReport baseline, double tolerance, long slackMillis) {
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((endpoint, latency) -> {
+            EndpointLatency expected = baseline.endpoints().get(endpoint);
+            if (expected == null) {
+                return;
+            }
+            for (int percentile : SloThresholds.PERCENTILES) {
+                long allowed = (long) (expected.percentile(percentile) * (1 + tolerance)) + slackMillis * 1000;
+                if (latency.percentile(percentile) > allowed) {
+                    regressions.add(String.format("%s p%d regressed from %.1fms to %.1fms (allowed %.1fms)",
+                            endpoint, percentile, expected.percentile(percentile) / 1000.0,
+                            latency.percentile(percentile) / 1000.0, allowed / 1000.0));
+                }
+            }
+        });
+        return regressions;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bartosboth.api.metrics;
+
+import com.bartosboth.api.sharding.ShardPlan;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class LatencyReportExtension implements BeforeAllCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot()
+                .getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(LatencyReportExtension.class, key -> new ReportOnClose());
+    }
+
+    /** Writes the report for the given histograms and fails on SLO violations or baseline regressions. */
+    public static void publish(Map<String, LatencyHistogram> histograms) {
+        LatencyReport report = LatencyReport.of(histograms);
+        Path reportPath = Path.of(System.getProperty("latency.report", "target/latency-report.json"));
+        Path baselinePath = Path.of(System.getProperty("latency.baseline", defaultBaseline()));
+        report.write(reportPath);
+        System.out.println("Latency report written to " + reportPath);
+
+        List<String> failures = new ArrayList<>(report.sloViolations(SloThresholds.load()));
+        if (Boolean.getBoolean("latency.updateBaseline")) {
+            report.write(baselinePath);
+            System.out.println("Latency baseline updated at " + baselinePath);
+        } else if (Files.exists(baselinePath)) {
+            failures.addAll(report.regressionsAgainst(
+                    LatencyReport.read(baselinePath),
+                    Double.parseDouble(System.getProperty("latency.tolerance", "0.25")),
+                    Long.getLong("latency.slackMillis", 5)));
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("Latency gate failed:\n   - " + String.join("\n   - ", failures));
+        }
+    }
+
+    // Keyed by target: embedded and remote latencies differ by orders of magnitude
+    private static String defaultBaseline() {
+        return "src/test/resources/latency-baselines/" + System.getProperty("api.target", "remote") + ".json";
+    }
+
+    private static final class ReportOnClose implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            Map<String, LatencyHistogram> histograms = LatencyRegistry.snapshot();
+            if (histograms.isEmpty()) {
+                return;
+            }
+            ShardPlan shard = ShardPlan.shared();
+            if (!shard.sharded()) {
+                publish(histograms);
+                return;
+            }
+            // A shard only sees part of the traffic, so gating waits until ShardMerge has combined every shard
+            Path histogramPath = shard.directory().resolve(ShardPlan.HISTOGRAMS_FILE);
+            LatencyReport.writeHistograms(histograms, histogramPath);
+            LatencyReport.of(histograms).write(shard.directory().resolve("latency-report.json"));
+            System.out.println("Shard latency histograms written to " + histogramPath);
+        }
+    }
+}
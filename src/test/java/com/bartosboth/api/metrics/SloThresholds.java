@@ -0,0 +1,42 @@
+package com.bartosboth.api.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+public class SloThresholds {
+
+    public static final String SLO_PATH = "slo.properties";
+    static final int[] PERCENTILES = {50, 95, 99};
+
+    private final Properties properties;
+
+    private SloThresholds(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static SloThresholds load() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = SloThresholds.class.getClassLoader().getResourceAsStream(SLO_PATH)) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load SLO thresholds: " + SLO_PATH, e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("slo."))
+                .forEach(name -> properties.setProperty(name.substring("slo.".length()), System.getProperty(name)));
+        return new SloThresholds(properties);
+    }
+
+    public long limitMillis(String endpoint, int percentile) {
+        String key = "p" + percentile;
+        String value = properties.getProperty(endpoint + "." + key, properties.getProperty("default." + key));
+        if (value == null) {
+            return Long.MAX_VALUE / 1000;
+        }
+        return Long.parseLong(value.trim());
+    }
+}
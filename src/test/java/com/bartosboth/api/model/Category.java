@@ -0,0 +1,32 @@
+package com.bartosboth.api.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum Category {
+    ELECTRONICS("electronics"),
+    JEWELERY("jewelery"),
+    MENS_CLOTHING("men's clothing"),
+    WOMENS_CLOTHING("women's clothing");
+
+    private final String value;
+
+    Category(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String value() {
+        return value;
+    }
+
+    @JsonCreator
+    public static Category fromValue(String value) {
+        for (Category category : values()) {
+            if (category.value.equals(value)) {
+                return category;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product category: " + value);
+    }
+}
@@ -0,0 +1,253 @@
+package com.bartosboth.api.server;
+
+import com.bartosboth.api.config.BlockingCalls;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.CRC32;
+
+public class FakeStoreServer implements AutoCloseable {
+
+    public static final String CATALOG_PATH = "test-data/catalog.json";
+
+    private static final String PRODUCTS_ENDPOINT = "/products";
+    private static final String CATEGORIES_PATH = PRODUCTS_ENDPOINT + "/categories";
+    private static final String CATEGORY_PATH = PRODUCTS_ENDPOINT + "/category/";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static volatile FakeStoreServer shared;
+
+    static {
+        // The JDK server leaves Nagle's algorithm on, which with delayed ACKs adds ~40ms to loopback responses
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ArrayNode catalog;
+    private final byte[] catalogBody;
+    private final byte[][] productBodies;
+    private final String catalogEtag;
+    private final String[] productEtags;
+    private final byte[] categoriesBody;
+
+    public FakeStoreServer(int port) {
+        this.catalog = loadCatalog();
+        this.productBodies = new byte[catalog.size()][];
+        this.productEtags = new String[catalog.size()];
+        try {
+            this.catalogBody = MAPPER.writeValueAsBytes(catalog);
+            for (int i = 0; i < catalog.size(); i++) {
+                productBodies[i] = MAPPER.writeValueAsBytes(catalog.get(i));
+                productEtags[i] = etag(productBodies[i]);
+            }
+            this.catalogEtag = etag(catalogBody);
+            TreeSet<String> categories = new TreeSet<>();
+            catalog.forEach(product -> categories.add(product.path("category").asText()));
+            this.categoriesBody = MAPPER.writeValueAsBytes(categories);
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start FakeStore server", e);
+        }
+        this.executor = BlockingCalls.newPool("fakestore", Integer.getInteger("fakestore.threads", 64));
+        server.setExecutor(executor);
+        server.createContext(PRODUCTS_ENDPOINT, this::handleProducts);
+        server.start();
+    }
+
+    public static FakeStoreServer shared() {
+        if (shared == null) {
+            synchronized (FakeStoreServer.class) {
+                if (shared == null) {
+                    FakeStoreServer server = new FakeStoreServer(Integer.getInteger("fakestore.port", 0));
+                    Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+                    shared = server;
+                }
+            }
+        }
+        return shared;
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public int productCount() {
+        return catalog.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleProducts(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+            try {
+                route(exchange, exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+            } catch (NumberFormatException | JsonProcessingException e) {
+                sendErrorIfUncommitted(exchange, 400, String.valueOf(e.getMessage()));
+            } catch (IOException | RuntimeException e) {
+                sendErrorIfUncommitted(exchange, 500, String.valueOf(e.getMessage()));
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String path) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (path.equals(PRODUCTS_ENDPOINT) || path.equals(PRODUCTS_ENDPOINT + "/")) {
+            switch (method) {
+                case "GET" -> {
+                    if (query == null) {
+                        sendCacheable(exchange, catalogBody, catalogEtag);
+                    } else {
+                        sendQuery(exchange, catalog, query);
+                    }
+                }
+                case "POST" -> send(exchange, 201, echo(exchange, catalog.size() + 1));
+                default -> sendError(exchange, 405, "Method not allowed");
+            }
+            return;
+        }
+
+        if (path.equals(CATEGORIES_PATH) && method.equals("GET")) {
+            sendCacheable(exchange, categoriesBody, etag(categoriesBody));
+            return;
+        }
+        if (path.startsWith(CATEGORY_PATH) && method.equals("GET")) {
+            String category = path.substring(CATEGORY_PATH.length());
+            ArrayNode products = MAPPER.createArrayNode();
+            catalog.forEach(product -> {
+                if (product.path("category").asText().equals(category)) {
+                    products.add(product);
+                }
+            });
+            sendQuery(exchange, products, query);
+            return;
+        }
+
+        Integer id = parseId(path.substring(PRODUCTS_ENDPOINT.length() + 1));
+        if (id == null || id < 1 || id > catalog.size()) {
+            sendError(exchange, 404, "Product not found");
+            return;
+        }
+        switch (method) {
+            case "GET" -> sendCacheable(exchange, productBodies[id - 1], productEtags[id - 1]);
+            case "DELETE" -> send(exchange, 200, productBodies[id - 1]);
+            case "PUT", "PATCH" -> send(exchange, 200, echo(exchange, id));
+            default -> sendError(exchange, 405, "Method not allowed");
+        }
+    }
+
+    // Mirrors the public API: limit keeps the first n products, sort=desc reverses the id order
+    private static void sendQuery(HttpExchange exchange, ArrayNode products, String query) throws IOException {
+        int limit = Integer.MAX_VALUE;
+        boolean descending = false;
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                String[] pair = parameter.split("=", 2);
+                String value = pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "";
+                switch (pair[0]) {
+                    case "limit" -> limit = Math.max(0, Integer.parseInt(value));
+                    case "sort" -> descending = value.equalsIgnoreCase("desc");
+                    default -> {
+                    }
+                }
+            }
+        }
+        List<JsonNode> ordered = new ArrayList<>(products.size());
+        products.forEach(ordered::add);
+        if (descending) {
+            Collections.reverse(ordered);
+        }
+        ArrayNode result = MAPPER.createArrayNode();
+        ordered.stream().limit(limit).forEach(result::add);
+        byte[] body = MAPPER.writeValueAsBytes(result);
+        sendCacheable(exchange, body, etag(body));
+    }
+
+    private static byte[] echo(HttpExchange exchange, int id) throws IOException {
+        JsonNode body = MAPPER.readTree(exchange.getRequestBody());
+        ObjectNode result = MAPPER.createObjectNode().put("id", id);
+        if (body instanceof ObjectNode fields) {
+            fields.remove("id");
+            result.setAll(fields);
+        }
+        return MAPPER.writeValueAsBytes(result);
+    }
+
+    private static Integer parseId(String segment) {
+        try {
+            return Integer.valueOf(segment);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void sendCacheable(HttpExchange exchange, byte[] body, String etag) throws IOException {
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        send(exchange, 200, body);
+    }
+
+    private static String etag(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return "\"" + Integer.toHexString(body.length) + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, MAPPER.writeValueAsBytes(MAPPER.createObjectNode().put("message", message)));
+    }
+
+    // Once headers are out the status can't change; closing the exchange cuts the body short instead
+    private static void sendErrorIfUncommitted(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() == -1) {
+            sendError(exchange, status, message);
+        }
+    }
+
+    private static ArrayNode loadCatalog() {
+        try (InputStream inputStream = FakeStoreServer.class.getClassLoader().getResourceAsStream(CATALOG_PATH)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Catalog not found on classpath: " + CATALOG_PATH);
+            }
+            return (ArrayNode) MAPPER.readTree(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load catalog: " + CATALOG_PATH, e);
+        }
+    }
+}
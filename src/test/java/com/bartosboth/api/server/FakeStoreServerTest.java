@@ -0,0 +1,70 @@
+package com.bartosboth.api.server;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FakeStoreServerTest {
+
+    private static FakeStoreServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    public static void startServer() {
+        server = new FakeStoreServer(0);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("A malformed JSON body is a client error")
+    public void testMalformedBodyIsBadRequest() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/products"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\": ")));
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("\"message\"");
+    }
+
+    @Test
+    @DisplayName("A non-numeric limit is a client error")
+    public void testMalformedQueryIsBadRequest() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/products?limit=five")).GET());
+
+        assertThat(response.statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("Valid requests are still answered after a client error")
+    public void testValidRequestAfterError() throws Exception {
+        send(HttpRequest.newBuilder(uri("/products?limit=x")).GET());
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/products?limit=2")).GET());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).startsWith("[").contains("\"id\":2");
+    }
+
+    private static URI uri(String path) {
+        return URI.create(server.baseUrl() + path);
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
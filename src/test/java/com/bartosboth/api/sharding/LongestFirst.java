@@ -0,0 +1,34 @@
+package com.bartosboth.api.sharding;
+
+import org.junit.jupiter.api.Order;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+final class LongestFirst {
+
+    private LongestFirst() {
+    }
+
+    /**
+     * Explicit {@code @Order} values first, like {@code OrderAnnotation}, then longest recorded duration first.
+     * Items without history are estimated at the median of their siblings, and names break ties so the
+     * order is stable across runs.
+     */
+    static <T> void sort(List<? extends T> items, Function<T, Optional<Order>> order, Function<T, Long> recordedMillis,
+                         Function<T, String> name) {
+        Map<T, Long> recorded = new IdentityHashMap<>();
+        items.forEach(item -> recorded.put(item, recordedMillis.apply(item)));
+        long[] known = recorded.values().stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().toArray();
+        long estimate = known.length == 0 ? 0 : known[known.length / 2];
+
+        items.sort(Comparator.<T>comparingInt(item -> order.apply(item).map(Order::value).orElse(Order.DEFAULT))
+                .thenComparing(item -> Objects.requireNonNullElse(recorded.get(item), estimate), Comparator.reverseOrder())
+                .thenComparing(name));
+    }
+}
@@ -0,0 +1,22 @@
+package com.bartosboth.api.sharding;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.Order;
+
+/**
+ * Starts the slowest test classes first, by {@link TestDurations} history, for the shortest overall run when
+ * classes execute concurrently. Registered as the default in {@code junit-platform.properties}.
+ */
+public class LongestFirstClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        TestDurations history = TestDurations.shared();
+        LongestFirst.<ClassDescriptor>sort(context.getClassDescriptors(),
+                testClass -> testClass.findAnnotation(Order.class),
+                testClass -> history.classMillis(testClass.getTestClass().getName()),
+                testClass -> testClass.getTestClass().getName());
+    }
+}
@@ -0,0 +1,39 @@
+package com.bartosboth.api.sharding;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Optional;
+
+/**
+ * Runs the slowest methods of a class first, by {@link TestDurations} history, so no slow test is left for the end
+ * of a parallel or sharded run. Methods that depend on earlier ones declare {@code @Order} and run first, in order.
+ * Only classes that declare {@code @Order} are pinned to one thread; the others keep the configured execution
+ * mode, so their methods and parameterized invocations still run concurrently under the {@code parallel} profile.
+ */
+public class LongestFirstMethodOrderer implements MethodOrderer {
+
+    // JUnit asks for the execution mode right after ordering the same class, during single-threaded discovery
+    private boolean ordered;
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        TestDurations history = TestDurations.shared();
+        String className = context.getTestClass().getName();
+        ordered = context.getMethodDescriptors().stream().anyMatch(method -> method.isAnnotated(Order.class));
+        LongestFirst.<MethodDescriptor>sort(context.getMethodDescriptors(),
+                method -> method.findAnnotation(Order.class),
+                method -> history.methodMillis(className + "#" + method.getMethod().getName()),
+                method -> method.getMethod().getName());
+    }
+
+    @Override
+    public Optional<ExecutionMode> getDefaultExecutionMode() {
+        boolean sameThread = ordered;
+        ordered = false;
+        return sameThread ? Optional.of(ExecutionMode.SAME_THREAD) : Optional.empty();
+    }
+}
@@ -0,0 +1,71 @@
+package com.bartosboth.api.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every method and invocation waits until all of them are running, so this class only passes when the orderer
+ * leaves them concurrent. Runs under the {@code parallel} profile and is skipped otherwise.
+ */
+@TestMethodOrder(LongestFirstMethodOrderer.class)
+@ExtendWith(LongestFirstMethodOrdererTest.ParallelOnly.class)
+public class LongestFirstMethodOrdererTest {
+
+    private static final int CALLS = 4;
+    private static final CountDownLatch RUNNING = new CountDownLatch(CALLS);
+
+    @Test
+    @DisplayName("Methods without @Order overlap under the parallel profile")
+    public void testFirstMethodOverlaps() throws InterruptedException {
+        awaitAllRunning();
+    }
+
+    @Test
+    @DisplayName("Methods without @Order overlap under the parallel profile")
+    public void testSecondMethodOverlaps() throws InterruptedException {
+        awaitAllRunning();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2})
+    @DisplayName("Parameterized invocations overlap under the parallel profile")
+    public void testInvocationsOverlap(int invocation) throws InterruptedException {
+        awaitAllRunning();
+    }
+
+    private static void awaitAllRunning() throws InterruptedException {
+        RUNNING.countDown();
+        assertThat(RUNNING.await(30, TimeUnit.SECONDS))
+                .as("%d of %d calls were in flight together on %s", CALLS - RUNNING.getCount(), CALLS,
+                        Thread.currentThread().getName())
+                .isTrue();
+    }
+
+    static class ParallelOnly implements ExecutionCondition {
+
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            boolean parallel = context.getConfigurationParameter("junit.jupiter.execution.parallel.enabled",
+                    Boolean::parseBoolean).orElse(false);
+            int threads = context.getConfigurationParameter("junit.jupiter.execution.parallel.config.fixed.parallelism",
+                    Integer::parseInt).orElse(0);
+            if (!parallel || threads < CALLS || ShardPlan.shared().sharded()) {
+                return ConditionEvaluationResult.disabled("Needs the parallel profile with at least " + CALLS
+                        + " threads, unsharded");
+            }
+            return ConditionEvaluationResult.enabled("Parallel with " + threads + " threads");
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.bartosboth.api.sharding;
+
+import com.bartosboth.api.metrics.LatencyHistogram;
+import com.bartosboth.api.metrics.LatencyReport;
+import com.bartosboth.api.metrics.LatencyReportExtension;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Combines the output of every {@code target/shards/shard-N} directory into one result: surefire XML reports
+ * without the "Not in shard" skips, a single latency report gated against SLOs and the baseline, and a refreshed
+ * duration history for the next plan. Exits non-zero if any shard had failures or the latency gate fails.
+ * <p>
+ * {@code mvn -Pshard-merge exec:exec}
+ */
+public final class ShardMerge {
+
+    private static final String SHARD_SKIP = "Not in shard ";
+
+    private ShardMerge() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path shardsDirectory = Path.of(System.getProperty("shard.dir", "target/shards"));
+        Path reportsDirectory = Path.of(System.getProperty("shard.reportsDirectory", "target/surefire-reports"));
+        Path historyPath = TestDurations.path();
+
+        List<Path> shards = shardDirectories(shardsDirectory);
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("No shard output found under " + shardsDirectory.toAbsolutePath());
+        }
+
+        Map<String, Long> units = new TreeMap<>();
+        Map<String, Long> methods = new TreeMap<>();
+        long slowest = 0;
+        for (Path shard : shards) {
+            Path runPath = shard.resolve(ShardPlan.RUN_FILE);
+            if (!Files.exists(runPath)) {
+                System.out.println(shard.getFileName() + ": no " + ShardPlan.RUN_FILE + " (shard did not finish)");
+                continue;
+            }
+            ShardRun run = ShardRun.read(runPath);
+            System.out.println(run);
+            slowest = Math.max(slowest, run.elapsedMillis());
+            // Non-owning shards still run class lifecycle methods for sharded invocations, so keep the longest
+            run.durations().units().forEach((unit, millis) -> units.merge(unit, millis, Math::max));
+            run.durations().methods().forEach((method, millis) -> methods.merge(method, millis, Math::max));
+        }
+        long unitMillis = units.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf(Locale.ROOT, "Slowest shard %.1fs, ideal %.1fs (%d units over %d shards)%n",
+                slowest / 1000.0, unitMillis / 1000.0 / shards.size(), units.size(), shards.size());
+        if (!units.isEmpty()) {
+            TestDurations.read(historyPath).mergedWith(new TestDurations(units, methods)).write(historyPath);
+            System.out.println("Duration history updated at " + historyPath);
+        }
+
+        int[] totals = mergeReports(shards, reportsDirectory);
+        System.out.printf("Tests run: %d, Failures: %d, Errors: %d, Skipped: %d (merged into %s)%n",
+                totals[0], totals[1], totals[2], totals[3], reportsDirectory);
+
+        boolean latencyPassed = mergeLatency(shards);
+        if (totals[1] > 0 || totals[2] > 0 || !latencyPassed) {
+            System.exit(1);
+        }
+    }
+
+    private static List<Path> shardDirectories(Path shardsDirectory) throws IOException {
+        if (!Files.isDirectory(shardsDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> children = Files.list(shardsDirectory)) {
+            return children.filter(path -> path.getFileName().toString().startsWith("shard-"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean mergeLatency(List<Path> shards) {
+        Map<String, LatencyHistogram> merged = mergeHistograms(shards);
+        if (merged.isEmpty()) {
+            return true;
+        }
+        try {
+            LatencyReportExtension.publish(merged);
+            return true;
+        } catch (AssertionError e) {
+            System.out.println(e.getMessage());
+            return false;
+        }
+    }
+
+    static Map<String, LatencyHistogram> mergeHistograms(List<Path> shards) {
+        Map<String, LatencyHistogram> merged = new TreeMap<>();
+        for (Path shard : shards) {
+            Path histograms = shard.resolve(ShardPlan.HISTOGRAMS_FILE);
+            if (Files.exists(histograms)) {
+                LatencyReport.readHistograms(histograms).forEach((endpoint, histogram) ->
+                        merged.computeIfAbsent(endpoint, key -> new LatencyHistogram()).add(histogram));
+            }
+        }
+        return merged;
+    }
+
+    // Returns tests, failures, errors and skipped across all merged suites
+    static int[] mergeReports(List<Path> shards, Path reportsDirectory) throws Exception {
+        Map<String, List<Path>> suites = new TreeMap<>();
+        for (Path shard : shards) {
+            Path reports = shard.resolve("surefire-reports");
+            if (!Files.isDirectory(reports)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(reports)) {
+                files.filter(path -> path.getFileName().toString().matches("TEST-.*\\.xml"))
+                        .forEach(path -> suites.computeIfAbsent(path.getFileName().toString(),
+                                key -> new ArrayList<>()).add(path));
+            }
+        }
+
+        Files.createDirectories(reportsDirectory);
+        int[] totals = new int[4];
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        for (Map.Entry<String, List<Path>> suite : suites.entrySet()) {
+            Document merged = null;
+            double time = 0;
+            for (Path file : suite.getValue()) {
+                Document document = factory.newDocumentBuilder().parse(file.toFile());
+                Element root = document.getDocumentElement();
+                time += parseTime(root.getAttribute("time"));
+                if (merged == null) {
+                    merged = document;
+                    removeShardSkips(root);
+                } else {
+                    for (Element testCase : testCases(root)) {
+                        if (!isShardSkip(testCase)) {
+                            merged.getDocumentElement().appendChild(merged.importNode(testCase, true));
+                        }
+                    }
+                }
+            }
+
+            Element root = merged.getDocumentElement();
+            List<Element> testCases = testCases(root);
+            if (testCases.isEmpty()) {
+                continue;
+            }
+            int[] counts = {testCases.size(), count(testCases, "failure"), count(testCases, "error"),
+                    count(testCases, "skipped")};
+            root.setAttribute("tests", String.valueOf(counts[0]));
+            root.setAttribute("failures", String.valueOf(counts[1]));
+            root.setAttribute("errors", String.valueOf(counts[2]));
+            root.setAttribute("skipped", String.valueOf(counts[3]));
+            root.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += counts[i];
+            }
+            write(merged, reportsDirectory.resolve(suite.getKey()));
+        }
+        return totals;
+    }
+
+    private static void removeShardSkips(Element root) {
+        for (Element testCase : testCases(root)) {
+            if (isShardSkip(testCase)) {
+                root.removeChild(testCase);
+            }
+        }
+    }
+
+    private static boolean isShardSkip(Element testCase) {
+        NodeList skipped = testCase.getElementsByTagName("skipped");
+        return skipped.getLength() > 0 && ((Element) skipped.item(0)).getAttribute("message").startsWith(SHARD_SKIP);
+    }
+
+    private static List<Element> testCases(Element root) {
+        List<Element> testCases = new ArrayList<>();
+        for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element element && element.getTagName().equals("testcase")) {
+                testCases.add(element);
+            }
+        }
+        return testCases;
+    }
+
+    private static int count(List<Element> testCases, String outcome) {
+        return (int) testCases.stream().filter(testCase -> testCase.getElementsByTagName(outcome).getLength() > 0).count();
+    }
+
+    private static double parseTime(String time) {
+        try {
+            return time.isEmpty() ? 0 : Double.parseDouble(time.replace(",", ""));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void write(Document document, Path path) {
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            transformer.transform(new DOMSource(document), new StreamResult(path.toFile()));
+        } catch (TransformerException e) {
+            throw new IllegalStateException("Failed to write merged report: " + path, e);
+        }
+    }
+}
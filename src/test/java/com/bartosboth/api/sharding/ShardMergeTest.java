@@ -0,0 +1,97 @@
+package com.bartosboth.api.sharding;
+
+import com.bartosboth.api.metrics.LatencyHistogram;
+import com.bartosboth.api.metrics.LatencyReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardMergeTest {
+
+    private static final String SUITE = "TEST-com.example.CsvTest.xml";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Merged reports drop the shard skips and count every real outcome once")
+    public void testMergeReports() throws Exception {
+        Path first = report("shard-1", """
+                <testsuite name="com.example.CsvTest" tests="3" failures="0" errors="0" skipped="2" time="1.5">
+                  <testcase name="row[1]" classname="com.example.CsvTest" time="1.5"/>
+                  <testcase name="row[2]" classname="com.example.CsvTest" time="0">
+                    <skipped message="Not in shard 1/2: com.example.CsvTest#row[2]"/>
+                  </testcase>
+                  <testcase name="disabled" classname="com.example.CsvTest" time="0">
+                    <skipped message="Disabled by the author"/>
+                  </testcase>
+                </testsuite>
+                """);
+        Path second = report("shard-2", """
+                <testsuite name="com.example.CsvTest" tests="3" failures="1" errors="0" skipped="2" time="2.25">
+                  <testcase name="row[1]" classname="com.example.CsvTest" time="0">
+                    <skipped message="Not in shard 2/2: com.example.CsvTest#row[1]"/>
+                  </testcase>
+                  <testcase name="row[2]" classname="com.example.CsvTest" time="2.25">
+                    <failure message="expected 200"/>
+                  </testcase>
+                  <testcase name="disabled" classname="com.example.CsvTest" time="0">
+                    <skipped message="Not in shard 2/2: com.example.CsvTest"/>
+                  </testcase>
+                </testsuite>
+                """);
+        Path reports = directory.resolve("merged");
+
+        int[] totals = ShardMerge.mergeReports(List.of(first, second), reports);
+
+        assertThat(totals).containsExactly(3, 1, 0, 1);
+        String merged = Files.readString(reports.resolve(SUITE));
+        assertThat(merged).contains("tests=\"3\"", "failures=\"1\"", "skipped=\"1\"", "time=\"3.750\"",
+                "Disabled by the author").doesNotContain("Not in shard");
+    }
+
+    @Test
+    @DisplayName("Histograms of the same endpoint are added across shards")
+    public void testMergeHistograms() {
+        Path first = histograms("shard-1", Map.of("GET /products", millis(10, 20), "GET /products/{id}", millis(5)));
+        Path second = histograms("shard-2", Map.of("GET /products", millis(30)));
+        Path unfinished = directory.resolve("shard-3");
+
+        Map<String, LatencyHistogram> merged = ShardMerge.mergeHistograms(List.of(first, second, unfinished));
+
+        assertThat(merged).containsOnlyKeys("GET /products", "GET /products/{id}");
+        LatencyHistogram catalog = merged.get("GET /products");
+        assertThat(catalog.count()).isEqualTo(3);
+        assertThat(catalog.maxMicros()).isBetween(29_800L, 30_300L);
+        assertThat(catalog.meanMicros()).isBetween(19_800.0, 20_200.0);
+        assertThat(merged.get("GET /products/{id}").count()).isEqualTo(1);
+    }
+
+    private Path report(String shard, String xml) throws IOException {
+        Path reports = Files.createDirectories(directory.resolve(shard).resolve("surefire-reports"));
+        Files.writeString(reports.resolve(SUITE), xml);
+        return directory.resolve(shard);
+    }
+
+    private Path histograms(String shard, Map<String, LatencyHistogram> histograms) {
+        Path shardDirectory = directory.resolve(shard);
+        LatencyReport.writeHistograms(histograms, shardDirectory.resolve(ShardPlan.HISTOGRAMS_FILE));
+        return shardDirectory;
+    }
+
+    private static LatencyHistogram millis(long... values) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value : values) {
+            histogram.record(value * 1000);
+        }
+        return histogram;
+    }
+}
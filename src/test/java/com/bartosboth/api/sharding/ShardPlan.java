@@ -0,0 +1,111 @@
+package com.bartosboth.api.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic assignment of test units to {@code -Dshard.total} shards, identical on every machine that sees
+ * the same duration history. Units with a recorded duration are packed longest-first onto the least-loaded shard
+ * (LPT), which keeps wall-clock time per shard balanced; units without history fall back to a stable hash.
+ */
+public final class ShardPlan {
+
+    public static final String RUN_FILE = "shard-run.json";
+    public static final String HISTOGRAMS_FILE = "latency-histograms.json";
+
+    private static volatile ShardPlan shared;
+
+    private final int index;
+    private final int total;
+    private final Path directory;
+    private final Map<String, Integer> planned = new HashMap<>();
+    private final long[] plannedMillis;
+
+    public ShardPlan(int index, int total, TestDurations history, Path baseDirectory) {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException("Shard index must be between 1 and " + total + ": " + index);
+        }
+        this.index = index;
+        this.total = total;
+        this.directory = baseDirectory.resolve("shard-" + index);
+        this.plannedMillis = new long[total];
+
+        List<Map.Entry<String, Long>> units = history.units().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .toList();
+        for (Map.Entry<String, Long> unit : units) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (plannedMillis[shard] < plannedMillis[lightest]) {
+                    lightest = shard;
+                }
+            }
+            planned.put(unit.getKey(), lightest + 1);
+            plannedMillis[lightest] += unit.getValue();
+        }
+    }
+
+    public static ShardPlan shared() {
+        if (shared == null) {
+            synchronized (ShardPlan.class) {
+                if (shared == null) {
+                    int total = Integer.getInteger("shard.total", 1);
+                    shared = new ShardPlan(Integer.getInteger("shard.index", 1), total,
+                            TestDurations.shared(),
+                            Path.of(System.getProperty("shard.dir", "target/shards")));
+                }
+            }
+        }
+        return shared;
+    }
+
+    public boolean sharded() {
+        return total > 1;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public int total() {
+        return total;
+    }
+
+    /** Where this shard writes its surefire reports, latency histograms and measured durations. */
+    public Path directory() {
+        return directory;
+    }
+
+    public int shardOf(String unit) {
+        Integer shard = planned.get(unit);
+        return shard != null ? shard : hashShard(unit, total);
+    }
+
+    public boolean owns(String unit) {
+        return shardOf(unit) == index;
+    }
+
+    public long plannedMillis(int shard) {
+        return plannedMillis[shard - 1];
+    }
+
+    static int hashShard(String unit, int total) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(unit.getBytes(StandardCharsets.UTF_8));
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = value << 8 | (digest[i] & 0xFF);
+            }
+            return (int) Long.remainderUnsigned(value, total) + 1;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.bartosboth.api.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardPlanTest {
+
+    private static final int SHARDS = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Every shard computes the same assignment from the same history")
+    public void testDeterministic() {
+        TestDurations history = history();
+        ShardPlan first = new ShardPlan(1, SHARDS, history, directory);
+        ShardPlan other = new ShardPlan(3, SHARDS, history(), directory);
+
+        history.units().keySet().forEach(unit -> assertThat(other.shardOf(unit)).as(unit).isEqualTo(first.shardOf(unit)));
+        assertThat(other.shardOf("com.example.NewTest")).isEqualTo(first.shardOf("com.example.NewTest"));
+    }
+
+    @Test
+    @DisplayName("Every unit, known or new, is owned by exactly one shard")
+    public void testEveryUnitOwnedOnce() {
+        TestDurations history = history();
+        ShardPlan[] plans = IntStream.rangeClosed(1, SHARDS)
+                .mapToObj(index -> new ShardPlan(index, SHARDS, history, directory))
+                .toArray(ShardPlan[]::new);
+
+        IntStream.range(0, 200).mapToObj(i -> "com.example.NewTest#method[" + i + "]")
+                .forEach(unit -> assertThat(ownersOf(plans, unit)).as(unit).isEqualTo(1));
+        history.units().keySet().forEach(unit -> assertThat(ownersOf(plans, unit)).as(unit).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("Known units are packed so no shard exceeds the lightest by more than the longest unit")
+    public void testBalanced() {
+        TestDurations history = history();
+        ShardPlan plan = new ShardPlan(1, SHARDS, history, directory);
+
+        long[] planned = IntStream.rangeClosed(1, SHARDS).mapToLong(plan::plannedMillis).toArray();
+        long longest = history.units().values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        long heaviest = IntStream.range(0, SHARDS).mapToLong(i -> planned[i]).max().orElseThrow();
+        long lightest = IntStream.range(0, SHARDS).mapToLong(i -> planned[i]).min().orElseThrow();
+
+        assertThat(IntStream.range(0, SHARDS).mapToLong(i -> planned[i]).sum()).isEqualTo(history.totalMillis());
+        assertThat(heaviest - lightest).isLessThanOrEqualTo(longest);
+        assertThat(plan.shardOf("com.example.Slowest")).isNotEqualTo(plan.shardOf("com.example.SecondSlowest"));
+    }
+
+    @Test
+    @DisplayName("Units without history fall back to a stable hash that spreads them over every shard")
+    public void testHashFallback() {
+        ShardPlan plan = new ShardPlan(2, SHARDS, TestDurations.empty(), directory);
+        int[] perShard = new int[SHARDS + 1];
+
+        for (int i = 0; i < 1000; i++) {
+            String unit = "com.example.Test" + i;
+            int shard = plan.shardOf(unit);
+            assertThat(shard).isBetween(1, SHARDS).isEqualTo(ShardPlan.hashShard(unit, SHARDS));
+            perShard[shard]++;
+        }
+
+        IntStream.rangeClosed(1, SHARDS).forEach(shard -> assertThat(perShard[shard]).as("shard %d", shard)
+                .isBetween(150, 350));
+        assertThat(plan.plannedMillis(1)).isZero();
+        assertThat(ShardPlan.hashShard("com.example.Test0", 1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An index outside 1..total is rejected")
+    public void testInvalidIndex() {
+        assertThatThrownBy(() -> new ShardPlan(0, SHARDS, TestDurations.empty(), directory))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ShardPlan(SHARDS + 1, SHARDS, TestDurations.empty(), directory))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new ShardPlan(2, SHARDS, TestDurations.empty(), directory).directory())
+                .isEqualTo(directory.resolve("shard-2"));
+    }
+
+    private static int ownersOf(ShardPlan[] plans, String unit) {
+        int owners = 0;
+        for (ShardPlan plan : plans) {
+            if (plan.owns(unit)) {
+                owners++;
+            }
+        }
+        return owners;
+    }
+
+    private static TestDurations history() {
+        Map<String, Long> units = new TreeMap<>();
+        units.put("com.example.Slowest", 9_000L);
+        units.put("com.example.SecondSlowest", 8_000L);
+        for (int i = 0; i < 40; i++) {
+            units.put("com.example.CsvTest#row[" + i + "]", 100L + i * 37 % 900);
+        }
+        units.put("com.example.Tied1", 500L);
+        units.put("com.example.Tied2", 500L);
+        return new TestDurations(units, Map.of());
+    }
+}
@@ -0,0 +1,38 @@
+package com.bartosboth.api.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** What one shard ran and how long it took, written next to its surefire reports for {@link ShardMerge}. */
+public record ShardRun(int index, int total, long elapsedMillis, TestDurations durations) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static ShardRun read(Path path) {
+        try {
+            return MAPPER.readValue(path.toFile(), ShardRun.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read shard run: " + path, e);
+        }
+    }
+
+    public void write(Path path) {
+        try {
+            Files.createDirectories(path.getParent());
+            MAPPER.writeValue(path.toFile(), this);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write shard run: " + path, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("shard %d/%d: %.1fs wall, %d units, %.1fs in units",
+                index, total, elapsedMillis / 1000.0, durations.units().size(), durations.totalMillis() / 1000.0);
+    }
+}
@@ -0,0 +1,160 @@
+package com.bartosboth.api.sharding;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs only the test units owned by this shard (see {@link ShardPlan}) and records how long every unit and test
+ * method took, into the shard's output for {@link ShardMerge}. Unsharded runs update the committed duration
+ * history only with {@code -Dshard.updateDurations=true}.
+ * A unit is a test class, so ordered, state-sharing methods stay together, or a single invocation of a
+ * {@code @ParameterizedTest}, so large data-driven tests spread across shards row by row. Registered for every
+ * test class through {@code META-INF/services} and extension autodetection.
+ */
+public class ShardingExtension implements ExecutionCondition, BeforeAllCallback, AfterAllCallback,
+        BeforeEachCallback, AfterEachCallback {
+
+    private static final String INVOCATION_SEGMENT = "/[test-template-invocation:#";
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ShardingExtension.class);
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        ShardPlan plan = ShardPlan.shared();
+        if (!plan.sharded() || context.getTestClass().isEmpty()) {
+            return ConditionEvaluationResult.enabled("Not sharded");
+        }
+        Class<?> testClass = context.getRequiredTestClass();
+        Method method = context.getTestMethod().orElse(null);
+        boolean invocation = isInvocation(context);
+        if (!invocation && (method == null ? hasTemplates(testClass) : isTemplate(method))) {
+            return ConditionEvaluationResult.enabled("Invocations are sharded individually");
+        }
+        String unit = unitOf(context);
+        return plan.owns(unit)
+                ? ConditionEvaluationResult.enabled("In shard " + plan.index() + "/" + plan.total() + ": " + unit)
+                : ConditionEvaluationResult.disabled("Not in shard " + plan.index() + "/" + plan.total() + ": " + unit);
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        recorder(context);
+        context.getStore(NAMESPACE).put(ShardingExtension.class, System.nanoTime());
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        long start = context.getStore(NAMESPACE).remove(ShardingExtension.class, long.class);
+        recorder(context).recordClass(context.getRequiredTestClass().getName(), System.nanoTime() - start);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(ShardingExtension.class, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        long nanos = System.nanoTime() - context.getStore(NAMESPACE).remove(ShardingExtension.class, long.class);
+        String className = context.getRequiredTestClass().getName();
+        Recorder recorder = recorder(context);
+        recorder.recordMethod(className + "#" + context.getRequiredTestMethod().getName(), nanos);
+        if (isInvocation(context)) {
+            recorder.recordInvocation(className, unitOf(context), nanos);
+        }
+    }
+
+    /** {@code com.example.SomeTest} for classes, {@code com.example.SomeTest#method[3]} for template invocations. */
+    public static String unitOf(ExtensionContext context) {
+        String unit = context.getRequiredTestClass().getName();
+        if (!isInvocation(context)) {
+            return unit;
+        }
+        return unitOf(unit, context.getRequiredTestMethod().getName(), context.getUniqueId());
+    }
+
+    static String unitOf(String className, String methodName, String uniqueId) {
+        String invocation = uniqueId.substring(uniqueId.lastIndexOf(INVOCATION_SEGMENT) + INVOCATION_SEGMENT.length(),
+                uniqueId.length() - 1);
+        return className + "#" + methodName + "[" + invocation + "]";
+    }
+
+    private static boolean isInvocation(ExtensionContext context) {
+        return context.getTestMethod().isPresent() && context.getUniqueId().contains(INVOCATION_SEGMENT);
+    }
+
+    private static boolean isTemplate(Method method) {
+        return AnnotationSupport.isAnnotated(method, TestTemplate.class);
+    }
+
+    private static boolean hasTemplates(Class<?> testClass) {
+        return !ReflectionSupport.findMethods(testClass, ShardingExtension::isTemplate,
+                HierarchyTraversalMode.TOP_DOWN).isEmpty();
+    }
+
+    private static Recorder recorder(ExtensionContext context) {
+        return context.getRoot()
+                .getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(ShardingExtension.class, key -> new Recorder(), Recorder.class);
+    }
+
+    static final class Recorder implements ExtensionContext.Store.CloseableResource {
+
+        private final long start = System.nanoTime();
+        private final Map<String, Long> units = new ConcurrentHashMap<>();
+        private final Map<String, Long> methods = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> invocationNanos = new ConcurrentHashMap<>();
+
+        void recordMethod(String method, long nanos) {
+            methods.merge(method, Math.max(1, nanos / 1_000_000), Long::sum);
+        }
+
+        void recordInvocation(String className, String unit, long nanos) {
+            units.put(unit, Math.max(1, nanos / 1_000_000));
+            invocationNanos.computeIfAbsent(className, key -> new LongAdder()).add(nanos);
+        }
+
+        // The class unit covers lifecycle methods and regular tests; its sharded invocations are counted separately
+        void recordClass(String className, long nanos) {
+            LongAdder invocations = invocationNanos.get(className);
+            long own = nanos - (invocations == null ? 0 : invocations.sum());
+            units.put(className, Math.max(1, own / 1_000_000));
+        }
+
+        TestDurations durations() {
+            return new TestDurations(units, methods);
+        }
+
+        @Override
+        public void close() {
+            ShardPlan plan = ShardPlan.shared();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            TestDurations durations = durations();
+            if (plan.sharded()) {
+                Path runPath = plan.directory().resolve(ShardPlan.RUN_FILE);
+                new ShardRun(plan.index(), plan.total(), elapsedMillis, durations).write(runPath);
+                System.out.println("Shard " + plan.index() + "/" + plan.total() + " finished in " + elapsedMillis
+                        + "ms, durations written to " + runPath);
+            } else if (Boolean.getBoolean("shard.updateDurations")) {
+                // The history is committed, so local runs only change it when asked to
+                Path historyPath = TestDurations.path();
+                TestDurations.read(historyPath).mergedWith(durations).write(historyPath);
+                System.out.println("Duration history updated at " + historyPath);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.bartosboth.api.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardingExtensionTest {
+
+    @Test
+    @DisplayName("A template invocation's unit is its class, method and invocation index")
+    public void testUnitOfInvocation() {
+        String uniqueId = "[engine:junit-jupiter]/[class:com.example.CsvTest]"
+                + "/[test-template:testCreate(com.example.Product)]/[test-template-invocation:#12]";
+
+        assertThat(ShardingExtension.unitOf("com.example.CsvTest", "testCreate", uniqueId))
+                .isEqualTo("com.example.CsvTest#testCreate[12]");
+    }
+
+    @Test
+    @DisplayName("A nested invocation is identified by its innermost index")
+    public void testUnitOfNestedInvocation() {
+        String uniqueId = "[engine:junit-jupiter]/[class:com.example.CsvTest]"
+                + "/[test-template:outer()]/[test-template-invocation:#2]"
+                + "/[test-template:inner()]/[test-template-invocation:#7]";
+
+        assertThat(ShardingExtension.unitOf("com.example.CsvTest", "inner", uniqueId))
+                .isEqualTo("com.example.CsvTest#inner[7]");
+    }
+
+    @Test
+    @DisplayName("A class unit excludes the time of its separately sharded invocations")
+    public void testRecordClassExcludesInvocations() {
+        ShardingExtension.Recorder recorder = new ShardingExtension.Recorder();
+        recorder.recordInvocation("com.example.CsvTest", "com.example.CsvTest#row[1]", 300_000_000);
+        recorder.recordInvocation("com.example.CsvTest", "com.example.CsvTest#row[2]", 200_000_000);
+        recorder.recordMethod("com.example.CsvTest#row", 300_000_000);
+        recorder.recordMethod("com.example.CsvTest#row", 200_000_000);
+        recorder.recordClass("com.example.CsvTest", 800_000_000);
+        recorder.recordClass("com.example.PlainTest", 400_000);
+
+        TestDurations durations = recorder.durations();
+
+        assertThat(durations.units()).containsEntry("com.example.CsvTest", 300L)
+                .containsEntry("com.example.CsvTest#row[1]", 300L)
+                .containsEntry("com.example.CsvTest#row[2]", 200L)
+                .containsEntry("com.example.PlainTest", 1L);
+        assertThat(durations.methods()).containsEntry("com.example.CsvTest#row", 500L);
+    }
+}
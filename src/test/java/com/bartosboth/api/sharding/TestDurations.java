@@ -0,0 +1,106 @@
+package com.bartosboth.api.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Measured wall-clock millis from previous runs, kept in {@code test-durations.json}. {@code units} are what
+ * {@link ShardPlan} assigns: test classes and single {@code @ParameterizedTest} invocations ({@code Class#method[3]}).
+ * {@code methods} are per test method ({@code Class#method}, all invocations together) for the longest-first orderers.
+ */
+public record TestDurations(Map<String, Long> units, Map<String, Long> methods) {
+
+    public static final String DEFAULT_PATH = "test-durations.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static volatile TestDurations shared;
+
+    public TestDurations {
+        units = units == null ? new TreeMap<>() : new TreeMap<>(units);
+        methods = methods == null ? new TreeMap<>() : new TreeMap<>(methods);
+    }
+
+    public static TestDurations empty() {
+        return new TestDurations(Map.of(), Map.of());
+    }
+
+    /** The history this JVM started with; recording a run never changes the plan or order of that same run. */
+    public static TestDurations shared() {
+        if (shared == null) {
+            synchronized (TestDurations.class) {
+                if (shared == null) {
+                    shared = read(path());
+                }
+            }
+        }
+        return shared;
+    }
+
+    public static Path path() {
+        return Path.of(System.getProperty("shard.durations", DEFAULT_PATH));
+    }
+
+    public static TestDurations read(Path path) {
+        if (!Files.exists(path)) {
+            return empty();
+        }
+        try {
+            return MAPPER.readValue(path.toFile(), TestDurations.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read test durations: " + path, e);
+        }
+    }
+
+    public void write(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            MAPPER.writeValue(path.toFile(), this);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write test durations: " + path, e);
+        }
+    }
+
+    // Averages with the previous value so one noisy run doesn't reshuffle every plan; unmeasured entries are kept
+    public TestDurations mergedWith(TestDurations measured) {
+        Map<String, Long> mergedUnits = new TreeMap<>(units);
+        Map<String, Long> mergedMethods = new TreeMap<>(methods);
+        measured.units.forEach((unit, millis) -> mergedUnits.merge(unit, millis, (old, now) -> (old + now) / 2));
+        measured.methods.forEach((method, millis) -> mergedMethods.merge(method, millis, (old, now) -> (old + now) / 2));
+        return new TestDurations(mergedUnits, mergedMethods);
+    }
+
+    public Long unitMillis(String unit) {
+        return units.get(unit);
+    }
+
+    public Long methodMillis(String method) {
+        return methods.get(method);
+    }
+
+    /** The class unit plus its individually sharded invocations, or null without history for the class. */
+    public Long classMillis(String className) {
+        Long own = units.get(className);
+        if (own == null) {
+            return null;
+        }
+        String invocations = className + "#";
+        return own + units.entrySet().stream()
+                .filter(unit -> unit.getKey().startsWith(invocations))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    public long totalMillis() {
+        return units.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
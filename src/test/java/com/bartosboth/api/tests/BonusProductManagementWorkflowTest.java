@@ -1,24 +1,38 @@
 package com.bartosboth.api.tests;
 
+import com.bartosboth.api.clients.AsyncProductApiClient;
+import com.bartosboth.api.clients.BatchResult;
 import com.bartosboth.api.clients.ProductApiClient;
+import com.bartosboth.api.clients.ProductQuery;
+import com.bartosboth.api.clients.ResponseCache;
+import com.bartosboth.api.config.ApiSpecs;
 import com.bartosboth.api.config.BaseApiConfig;
+import com.bartosboth.api.data.GoldenProductStore;
 import com.bartosboth.api.data.ProductTestDataFactory;
+import com.bartosboth.api.json.CatalogFingerprint;
+import com.bartosboth.api.json.SchemaRegistry;
+import com.bartosboth.api.model.Category;
 import com.bartosboth.api.model.Product;
+import com.bartosboth.api.sharding.LongestFirstMethodOrderer;
 import io.restassured.response.Response;
 import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.lessThan;
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(LongestFirstMethodOrderer.class)
 public class BonusProductManagementWorkflowTest extends BaseApiConfig {
 
     private static ProductApiClient productClient;
@@ -30,10 +44,9 @@ public class BonusProductManagementWorkflowTest extends BaseApiConfig {
 
         productClient = new ProductApiClient();
 
-        Response allProductsResponse = productClient.getProducts();
-
-        Product[] allProducts = allProductsResponse.as(Product[].class);
-        initialProductCount = allProducts.length;
+        // Counted off the stream, so the catalog is never held in memory just to size it
+        initialProductCount = Math.toIntExact(productClient.streamProducts(false, streamed -> {
+        }));
 
         System.out.println("Initial product count: " + initialProductCount);
         System.out.println("Loading test data from CSV files...");
@@ -43,23 +56,17 @@ public class BonusProductManagementWorkflowTest extends BaseApiConfig {
     @DisplayName("Validate All Products with JSON Schema")
     public void testGetAllProductsWithSchemaValidation() {
 
-        Response response = productClient.getProducts();
-
-        response.then()
-                .assertThat()
-                .body(matchesJsonSchemaInClasspath("schemas/products-array-schema.json"));
-
-        Product[] products = response.as(Product[].class);
-        assertThat(products).hasSize(20);
+        GoldenProductStore.Comparison golden = GoldenProductStore.shared().compare();
+        long count = productClient.streamProducts(true, streamed -> {
+            Integer id = streamed.product().id();
+            if (id == null || id != streamed.index() + 1) {
+                throw new AssertionError("Product at index " + streamed.index() + " has id " + id);
+            }
+            golden.add(streamed.product());
+        });
 
-        Product firstProduct = products[0];
-        assertThat(firstProduct.id()).isEqualTo(TEST_PRODUCT_ID);
-        assertThat(firstProduct.title()).isEqualTo("Fjallraven - Foldsack No. 1 Backpack, Fits 15 Laptops");
-        assertThat(firstProduct.price()).isEqualTo(109.95);
-        assertThat(firstProduct.category()).isEqualTo("men's clothing");
-        assertThat(firstProduct.description()).isEqualTo( "Your perfect pack for everyday use and walks in the forest. Stash your laptop (up to 15 inches) in the padded sleeve, your everyday");
-        assertThat(firstProduct.image()).isEqualTo( "https://fakestoreapi.com/img/81fPKd-2AYL._AC_SL1500_.jpg");
-        assertThat(firstProduct.rating()).isEqualTo(new Product.Rating(3.9, 120));
+        golden.assertComplete();
+        assertThat(count).isEqualTo(20);
 
         System.out.println("Schema validation passed for all products");
     }
@@ -70,20 +77,9 @@ public class BonusProductManagementWorkflowTest extends BaseApiConfig {
 
         Response response = productClient.getProduct(TEST_PRODUCT_ID);
 
-
-        response.then()
-                .assertThat()
-                .body(matchesJsonSchemaInClasspath("schemas/product-schema.json"));
-
-        Product product = response.as(Product.class);
+        Product product = SchemaRegistry.readValidated(response.asByteArray(), SchemaRegistry.PRODUCT_SCHEMA, Product.class);
         assertThat(product.id()).isEqualTo(TEST_PRODUCT_ID);
-        assertThat(product.title()).isEqualTo("Fjallraven - Foldsack No. 1 Backpack, Fits 15 Laptops");
-        assertThat(product.price()).isEqualTo(109.95);
-        assertThat(product.category()).isEqualTo("men's clothing");
-        assertThat(product.description()).isEqualTo( "Your perfect pack for everyday use and walks in the forest. Stash your laptop (up to 15 inches) in the padded sleeve, your everyday");
-        assertThat(product.image()).isEqualTo( "https://fakestoreapi.com/img/81fPKd-2AYL._AC_SL1500_.jpg");
-        assertThat(product.rating()).isEqualTo(new Product.Rating(3.9, 120));
-
+        GoldenProductStore.shared().assertMatches(product);
 
         System.out.println("Schema validation passed for single product");
     }
@@ -134,21 +130,33 @@ public class BonusProductManagementWorkflowTest extends BaseApiConfig {
     @DisplayName("Validate Product Count Consistency")
     public void testProductCountConsistency() {
 
-        Response response = productClient.getProducts();
-
-        Product[] currentProducts = response.as(Product[].class);
-        int currentCount = currentProducts.length;
-
-        assertThat(currentCount).isEqualTo(initialProductCount);
-
-        System.out.println("Product count validation: " + currentCount + " products (consistent)");
+        CatalogFingerprint fingerprint = productClient.fingerprintProducts();
+
+        assertThat(fingerprint.size()).isEqualTo(initialProductCount);
+
+        // Versioned per target, so every checkout compares against the same catalog
+        Path fingerprintPath = Path.of(System.getProperty("catalog.fingerprint",
+                "src/test/resources/fingerprints/" + API_TARGET + ".json"));
+        if (Boolean.getBoolean("catalog.updateFingerprint")) {
+            fingerprint.write(fingerprintPath);
+            System.out.println("Catalog fingerprint baseline written to " + fingerprintPath + ", commit it to accept it");
+        } else {
+            Assumptions.assumeTrue(Files.exists(fingerprintPath), () -> "No catalog fingerprint baseline for api.target="
+                    + API_TARGET + " at " + fingerprintPath + ", record one with -Dcatalog.updateFingerprint=true");
+            CatalogFingerprint.Diff diff = fingerprint.diff(CatalogFingerprint.read(fingerprintPath));
+            assertThat(diff.isEmpty()).as("catalog drifted since %s: %s", fingerprintPath, diff).isTrue();
+        }
+
+        System.out.println("Product count validation: " + fingerprint.size() + " products (consistent), fingerprint "
+                + fingerprint.root());
     }
 
     @Test
     @DisplayName("Contract Validation - Response Time and Headers")
     public void testContractValidation() {
 
-        Response response = productClient.getProducts();
+        // One product is enough to check the listing contract without downloading the catalog
+        Response response = productClient.getProducts(ProductQuery.first(1));
 
         response.then()
                 .time(lessThan(5000L))
@@ -159,6 +167,105 @@ public class BonusProductManagementWorkflowTest extends BaseApiConfig {
                 response.getTime() + "ms");
     }
 
+    @Test
+    @DisplayName("Fetch Whole Catalog Concurrently with Async Client")
+    public void testGetProductsConcurrentlyWithAsyncClient() {
+
+        AsyncProductApiClient asyncClient = new AsyncProductApiClient();
+        List<Integer> ids = IntStream.rangeClosed(1, initialProductCount).boxed().toList();
+
+        List<Product> products = asyncClient.getProducts(ids).join();
+
+        assertThat(products).hasSize(initialProductCount);
+        assertThat(products).extracting(Product::id).containsExactlyElementsOf(ids);
+        GoldenProductStore.shared().assertCatalog(products);
+
+        System.out.println("Fetched " + products.size() + " products concurrently");
+    }
+
+    @Test
+    @DisplayName("Limited and Sorted Product Listing - GET /products?limit&sort")
+    public void testGetProductsWithLimitAndSort() {
+
+        Product[] firstPage = productClient.getProducts(ProductQuery.first(5)).as(Product[].class);
+        Product[] lastFirst = productClient.getProducts(ProductQuery.first(3).sorted(ProductQuery.Sort.DESC))
+                .as(Product[].class);
+
+        assertThat(firstPage).extracting(Product::id).containsExactly(1, 2, 3, 4, 5);
+        assertThat(lastFirst).extracting(Product::id)
+                .containsExactly(initialProductCount, initialProductCount - 1, initialProductCount - 2);
+
+        System.out.println("Limited listing returned " + firstPage.length + " products, newest first: " + lastFirst[0].title());
+    }
+
+    @Test
+    @DisplayName("Products by Category - GET /products/categories and /products/category/{category}")
+    public void testGetProductsByCategory() {
+
+        String[] categories = productClient.getCategories().as(String[].class);
+
+        assertThat(categories).containsExactlyInAnyOrder(
+                Arrays.stream(Category.values()).map(Category::value).toArray(String[]::new));
+
+        int total = 0;
+        for (Category category : Category.values()) {
+            Product[] products = productClient.getProductsInCategory(category).as(Product[].class);
+            assertThat(products).isNotEmpty().allSatisfy(product ->
+                    assertThat(product.category()).isEqualTo(category.value()));
+            total += products.length;
+        }
+        assertThat(total).isEqualTo(initialProductCount);
+
+        System.out.println("Categories " + Arrays.toString(categories) + " cover all " + total + " products");
+    }
+
+    @Test
+    @DisplayName("Cached Reads Return the Same Data and Are Invalidated by Writes")
+    public void testCachedReadsInvalidatedByWrites() {
+
+        ResponseCache cache = new ResponseCache(Duration.ofMinutes(1), 16);
+        ProductApiClient cachingClient = new ProductApiClient(ApiSpecs.shared(), cache);
+
+        Product uncached = productClient.getProduct(TEST_PRODUCT_ID).as(Product.class);
+        Product first = cachingClient.getProduct(TEST_PRODUCT_ID).as(Product.class);
+        Product second = cachingClient.getProduct(TEST_PRODUCT_ID).as(Product.class);
+
+        assertThat(first).isEqualTo(uncached);
+        assertThat(second).isEqualTo(uncached);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+
+        cachingClient.updateProduct(TEST_PRODUCT_ID, ProductTestDataFactory.getCreateProducts().getFirst());
+        assertThat(cache.stats().size()).isZero();
+
+        assertThat(cachingClient.getProduct(TEST_PRODUCT_ID).as(Product.class)).isEqualTo(uncached);
+        assertThat(cache.stats().misses()).isEqualTo(2);
+
+        System.out.println("Response cache: " + cache.stats());
+    }
+
+    @Test
+    @DisplayName("Bulk Create Products from CSV Test Data")
+    public void testBulkCreateProductsFromCsv() {
+
+        List<Product> products = ProductTestDataFactory.getCreateProducts();
+
+        List<BatchResult<Product>> results = productClient.createProducts(products, 2);
+
+        assertThat(results).hasSameSizeAs(products);
+        for (int i = 0; i < results.size(); i++) {
+            BatchResult<Product> result = results.get(i);
+            assertThat(result.succeeded()).as("create #%d failed: %s", i, result.failure()).isTrue();
+            assertThat(result.item()).isSameAs(products.get(i));
+
+            Product createdProduct = result.response().as(Product.class);
+            assertThat(createdProduct.id()).isEqualTo(21);
+            assertThat(createdProduct.title()).isEqualTo(products.get(i).title());
+        }
+
+        System.out.println("Bulk created " + results.size() + " products from CSV");
+    }
+
     static Stream<Product> provideCreateProductsFromCsv() {
         return ProductTestDataFactory.getCreateProducts().stream();
     }
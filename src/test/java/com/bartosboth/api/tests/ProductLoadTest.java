@@ -0,0 +1,55 @@
+package com.bartosboth.api.tests;
+
+import com.bartosboth.api.clients.ProductApiClient;
+import com.bartosboth.api.clients.RequestPolicy;
+import com.bartosboth.api.config.ApiSpecs;
+import com.bartosboth.api.config.BaseApiConfig;
+import com.bartosboth.api.config.ConnectionPool;
+import com.bartosboth.api.limiter.AdaptiveLimiter;
+import com.bartosboth.api.load.LoadDriver;
+import com.bartosboth.api.load.LoadProfile;
+import com.bartosboth.api.load.LoadResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("load")
+@Isolated
+@EnabledIfSystemProperty(named = "api.target", matches = "embedded")
+public class ProductLoadTest extends BaseApiConfig {
+
+    @Test
+    @DisplayName("Open-Model Load Run with Configured Request Mix")
+    public void testLoadWithRequestMix() {
+
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        ConnectionPool.Stats before = ConnectionPool.shared().stats();
+
+        LoadResult result = new LoadDriver(new ProductApiClient()).run(profile);
+
+        ConnectionPool.Stats after = ConnectionPool.shared().stats();
+        System.out.println(result.summary());
+        System.out.println("HTTP pool: " + after);
+        System.out.println("Request policy: " + RequestPolicy.shared().stats());
+        if (ApiSpecs.ADAPTIVE_CONCURRENCY) {
+            AdaptiveLimiter limiter = AdaptiveLimiter.shared();
+            Path historyPath = Path.of("target/limiter-history.csv");
+            limiter.writeHistory(historyPath);
+            System.out.println(limiter.summary() + ", history written to " + historyPath);
+        }
+
+        assertThat(result.requests()).isEqualTo(result.scheduled());
+        assertThat(result.errorRate()).isLessThanOrEqualTo(Double.parseDouble(System.getProperty("load.maxErrorRate", "0.0")));
+        assertThat(result.endpoints()).containsOnlyKeys(profile.mix().keySet());
+        assertThat(after.opened() - before.opened())
+                .as("keep-alive connections should be reused across requests")
+                .isLessThan(after.leases() - before.leases());
+        assertThat(after.leased()).isZero();
+    }
+}
@@ -0,0 +1,48 @@
+package com.bartosboth.api.tests;
+
+import com.bartosboth.api.clients.ProductApiClient;
+import com.bartosboth.api.config.BaseApiConfig;
+import com.bartosboth.api.load.SoakRunner;
+import com.bartosboth.api.load.SoakSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.OptionalDouble;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("soak")
+@Isolated
+@EnabledIfSystemProperty(named = "soak.durationSeconds", matches = "\\d+")
+public class ProductSoakTest extends BaseApiConfig {
+
+    @Test
+    @DisplayName("Soak CRUD Workflow Under Continuous JFR Recording")
+    public void testSoakWorkflow() {
+
+        Duration duration = Duration.ofSeconds(Long.getLong("soak.durationSeconds"));
+        Path recordingPath = Path.of(System.getProperty("soak.recording", "target/soak.jfr"));
+
+        SoakSummary summary = new SoakRunner(new ProductApiClient(), Integer.getInteger("load.maxProductId", 20))
+                .run(duration, Integer.getInteger("soak.workers", 1), recordingPath,
+                        Duration.ofMinutes(Long.getLong("soak.recordingMaxAgeMinutes", 60)));
+
+        summary.write(Path.of("target/soak-summary.txt"));
+        System.out.println(summary.report());
+        System.out.println("JFR recording written to " + recordingPath);
+
+        assertThat(summary.workflowErrors()).isZero();
+        assertThat(summary.endpoints()).hasSize(5);
+        String maxHeapGrowth = System.getProperty("soak.maxHeapGrowthMbPerHour");
+        if (maxHeapGrowth != null) {
+            OptionalDouble heapGrowth = summary.heapGrowthMbPerHour();
+            assertThat(heapGrowth).as("heap growth needs a longer run or -Dsoak.minHeapWindowMinutes").isPresent();
+            assertThat(heapGrowth.getAsDouble()).isLessThanOrEqualTo(Double.parseDouble(maxHeapGrowth));
+        }
+    }
+}